@@ -0,0 +1,314 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+//  Class CompiledExpression
+//  ------------------------------------------------------------------
+/**
+  *   A boolean expression translated once into a postfix program, so
+  *   that it can be evaluated for each row of a truth table without
+  *   parsing it again.
+  *
+  *   The expression must be in the normalized form produced by the
+  *   TruthTable(String) constructor: no blanks, explicit AND operators,
+  *   and balanced parentheses.  It is translated with the same
+  *   operator-precedence method TruthTable.evaluateBoolean() uses,
+  *   so the result and any syntax errors are the same: NOT applies
+  *   immediately to the operand before it, AND binds more tightly than
+  *   OR and XOR, and OR and XOR group from the right.
+  *
+  *   Each instruction of the program is an int, with the operation in
+  *   the low byte and, for a variable, its bit position in the row
+  *   number above that.
+  *
+  *   The program can be run for one row at a time, or for 64 rows at
+  *   once: each variable is given the word whose bits are its values
+  *   in 64 consecutive rows (0xAAAA... for the rightmost variable,
+  *   0xCCCC... for the next, and so on), and the operators are
+  *   applied to whole words.
+  *
+  *   The evaluation stacks are allocated once, so evaluate() and
+  *   evaluateWord() do not create any objects.  For the same reason,
+  *   one CompiledExpression must not be evaluated by two threads at
+  *   once.
+  *
+  *   @version  1.0
+  */
+  public class CompiledExpression
+  {
+    //  Operations
+    protected static final int  PUSH_0    = 0;
+    protected static final int  PUSH_1    = 1;
+    protected static final int  PUSH_VAR  = 2;
+    protected static final int  NOT       = 3;
+    protected static final int  AND       = 4;
+    protected static final int  OR        = 5;
+    protected static final int  XOR       = 6;
+
+    protected int[]     program;
+    protected int       numVars;
+    protected boolean[] stack;
+    protected long[]    wordStack;
+
+    /** The values of the six rightmost variables in 64 consecutive
+        rows, starting at a multiple of 64.                         */
+    protected static final long[] PATTERNS =
+    {
+      0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L,
+      0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L
+    };
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  exp           The normalized expression.
+    *   @param  variableNames The variables of the expression.  The
+    *                         first one is the most significant bit of
+    *                         a row number.
+    */
+    public CompiledExpression( String exp, char[] variableNames )
+    {
+      numVars = variableNames.length;
+      program = new int[ exp.length() ];
+      int size      = 0;
+      int depth     = 0;
+      int maxDepth  = 0;
+      CharStack operator = new CharStack();
+      for ( int i=0; i<exp.length(); i++ )
+      {
+        char x = exp.charAt( i );
+        switch ( x )
+        {
+          case TruthTable.LP:
+            operator.push( x );
+            break;
+
+          case TruthTable.RP:
+          {
+            char op;
+            while ( (op = operator.pop()) != TruthTable.LP )
+            {
+              depth = checkOperands( op, depth );
+              program[ size++ ] = opCode( op );
+            }
+          }
+            break;
+
+          case TruthTable.NOT:
+            //  Postfix NOT -- apply immediately.
+            if ( depth == 0 )
+              throw new RuntimeException(
+                        "Syntax Error: Postfix NOT with no operand" );
+            program[ size++ ] = NOT;
+            break;
+
+          case TruthTable.AND:
+            operator.push( x );
+            break;
+
+          case TruthTable.OR:
+          case TruthTable.XOR:
+            while ( operator.peek() == TruthTable.AND )
+            {
+              depth = checkOperands( operator.pop(), depth );
+              program[ size++ ] = AND;
+            }
+            operator.push( x );
+            break;
+
+          case TruthTable.ZERO:
+          case TruthTable.ONE:
+            program[ size++ ] = (x == TruthTable.ONE) ? PUSH_1 : PUSH_0;
+            maxDepth = Math.max( maxDepth, ++depth );
+            break;
+
+          default:
+          {
+            int v = 0;
+            while ( v < numVars && variableNames[v] != x )
+              v++;
+            if ( v == numVars )
+              throw new RuntimeException( "Program Error: BadSwitch" );
+            program[ size++ ] = PUSH_VAR | ((numVars - 1 - v) << 8);
+            maxDepth = Math.max( maxDepth, ++depth );
+          }
+        }
+      }
+      while ( !operator.isEmpty() )
+      {
+        char op = operator.pop();
+        depth = checkOperands( op, depth );
+        program[ size++ ] = opCode( op );
+      }
+      if ( depth == 0 )
+        throw new RuntimeException( "Pop empty stack." );
+
+      int[] trimmed = new int[ size ];
+      System.arraycopy( program, 0, trimmed, 0, size );
+      program = trimmed;
+      stack = new boolean[ maxDepth ];
+      wordStack = new long[ maxDepth ];
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int  getNumVars()      { return numVars;         }
+    public int  getProgramSize()  { return program.length;  }
+
+
+  //  checkOperands()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the depth of the operand stack after a binary operator
+    *   is applied, or throws the exception evaluateBoolean() would
+    *   throw if there are not enough operands.
+    */
+    protected static int checkOperands( char op, int depth )
+    {
+      String name = (op == TruthTable.AND) ? "AND" :
+                    (op == TruthTable.OR)  ? "OR"  : "XOR";
+      if ( op != TruthTable.AND && op != TruthTable.OR &&
+                                              op != TruthTable.XOR )
+        throw new RuntimeException(
+            "Program Error: " + op + " is not an operator");
+      if ( depth == 0 )
+        throw new RuntimeException(
+            "Syntax Error: " + name + " with no operands." );
+      if ( depth == 1 )
+        throw new RuntimeException(
+            "Syntax Error: " + name + " missing right operand." );
+      return depth - 1;
+    }
+
+  //  opCode()
+  //  ----------------------------------------------------------------
+    protected static int opCode( char op )
+    {
+      return (op == TruthTable.AND) ? AND : (op == TruthTable.OR) ? OR : XOR;
+    }
+
+
+  //  Method evaluate()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the value of the expression for one row of the truth
+    *   table.
+    *
+    *   @param  row The row number; variable v of variableNames has
+    *               the value of bit (numVars - 1 - v).
+    */
+    public boolean evaluate( int row )
+    {
+      boolean[] s = stack;
+      int top = -1;
+      for (int pc=0; pc<program.length; pc++)
+      {
+        int instruction = program[pc];
+        switch ( instruction & 0xFF )
+        {
+          case PUSH_0:    s[++top] = false;                       break;
+          case PUSH_1:    s[++top] = true;                        break;
+          case PUSH_VAR:  s[++top] = ((row >>> (instruction >>> 8)) & 1) != 0;
+                                                                  break;
+          case NOT:       s[top] = !s[top];                       break;
+          case AND:       top--;  s[top] &= s[top + 1];           break;
+          case OR:        top--;  s[top] |= s[top + 1];           break;
+          case XOR:       top--;  s[top] ^= s[top + 1];           break;
+        }
+      }
+      return s[top];
+    }
+
+
+  //  Method evaluateWord()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the values of the expression for rows 64*w through
+    *   64*w + 63, with row 64*w in the rightmost bit.  Bits for rows
+    *   past the end of the table are not meaningful.
+    */
+    public long evaluateWord( int w )
+    {
+      long[] s = wordStack;
+      int top = -1;
+      for (int pc=0; pc<program.length; pc++)
+      {
+        int instruction = program[pc];
+        switch ( instruction & 0xFF )
+        {
+          case PUSH_0:    s[++top] = 0L;                          break;
+          case PUSH_1:    s[++top] = -1L;                         break;
+          case PUSH_VAR:
+          {
+            int bit = instruction >>> 8;
+            if ( bit < 6 )
+              s[++top] = PATTERNS[bit];
+            else
+              s[++top] = -((w >>> (bit - 6)) & 1L);
+          }
+                                                                  break;
+          case NOT:       s[top] = ~s[top];                       break;
+          case AND:       top--;  s[top] &= s[top + 1];           break;
+          case OR:        top--;  s[top] |= s[top + 1];           break;
+          case XOR:       top--;  s[top] ^= s[top + 1];           break;
+        }
+      }
+      return s[top];
+    }
+
+
+  //  Method evaluateWords()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the whole truth table, 64 rows per word: row r is bit
+    *   (r % 64) of word (r / 64).  Bits past the last row are 0.
+    */
+    public long[] evaluateWords()
+    {
+      int numRows = 1 << numVars;
+      long[] words = new long[ (numRows + 63) >>> 6 ];
+      for (int w=0; w<words.length; w++)
+        words[w] = evaluateWord( w );
+      if ( numRows < 64 )
+        words[0] &= (1L << numRows) - 1;
+      return words;
+    }
+
+  }
@@ -0,0 +1,215 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class CoverChart
+//  ------------------------------------------------------------------
+/**
+  *   A covering chart kept as a bit matrix: each row is a set of
+  *   columns stored 64 columns per long.  In MinimizedTable the rows
+  *   are prime implicants and the columns are minterms.  Subset tests
+  *   between rows are done a word at a time.
+  *
+  *   @version  1.0
+  */
+  public class CoverChart
+  {
+    protected int       numRows;
+    protected int       numCols;
+    protected int       colWords;     //  longs per row
+    protected long[][]  rowBits;      //  columns covered by each row
+    protected int[]     rowCount;     //  number of columns in each row
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates an empty chart.
+    */
+    public CoverChart( int numRows, int numCols )
+    {
+      this.numRows  = numRows;
+      this.numCols  = numCols;
+      colWords      = (numCols + 63) >>> 6;
+      rowBits       = new long[ numRows ][ colWords ];
+      rowCount      = new int[ numRows ];
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int  getNumRows()          { return numRows;         }
+    public int  getNumCols()          { return numCols;         }
+    public int  getCount( int row )   { return rowCount[row];   }
+
+    public boolean get( int row, int col )
+    {
+      return (rowBits[row][col >>> 6] & (1L << col)) != 0;
+    }
+
+    public void set( int row, int col )
+    {
+      long bit = 1L << col;
+      if ( (rowBits[row][col >>> 6] & bit) == 0 )
+      {
+        rowBits[row][col >>> 6] |= bit;
+        rowCount[row]++;
+      }
+    }
+
+
+  //  Method contains()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if row r1 covers every column row r2 covers.
+    */
+    public boolean contains( int r1, int r2 )
+    {
+      long[] a = rowBits[r1];
+      long[] b = rowBits[r2];
+      for (int w=0; w<colWords; w++)
+        if ( (b[w] & ~a[w]) != 0 )
+          return false;
+      return true;
+    }
+
+
+  //  Method findDominatedRows()
+  //  ----------------------------------------------------------------
+  /**
+    *   Finds, in one sweep, every row whose columns are a proper subset
+    *   of another row's.  A row dominated by a dominated row is also
+    *   dominated by whatever dominates that row, so removing all of
+    *   them at once leaves the same rows as removing them one at a
+    *   time.
+    *
+    *   @param  ignore  Rows to leave out of the comparison, or null.
+    *   @return For each row, the lowest-numbered row that dominates
+    *           it, or -1 if no row does (or the row is ignored).
+    */
+    public int[] findDominatedRows( boolean[] ignore )
+    {
+      return findDominatedRows( ignore, null );
+    }
+
+  /**
+    *   Like findDominatedRows( ignore ), but a row also has a cost, and
+    *   a row dominates another only if it costs no more.  Then a row
+    *   with the same columns as a cheaper one, or as an equally cheap
+    *   one with a lower number, is dominated too.  Removing dominated
+    *   rows never raises the cost of a minimum cover.
+    *
+    *   @param  cost    The cost of each row, or null to use proper
+    *                   subsets only.
+    */
+    public int[] findDominatedRows( boolean[] ignore, long[] cost )
+    {
+      int[] dominator = new int[ numRows ];
+      Arrays.fill( dominator, -1 );
+      for (int j=0; j<numRows; j++)
+      {
+        if ( ignore != null && ignore[j] )
+          continue;
+        for (int i=0; i<numRows; i++)
+        {
+          if ( i == j || (ignore != null && ignore[i]) ||
+               rowCount[i] < rowCount[j] )
+            continue;
+          if ( cost == null )
+          {
+            if ( rowCount[i] == rowCount[j] )
+              continue;
+          }
+          else if ( cost[i] > cost[j] ||
+                    ( rowCount[i] == rowCount[j] && cost[i] == cost[j] &&
+                      i > j ) )
+            continue;
+          if ( contains( i, j ) )
+          {
+            dominator[j] = i;
+            break;
+          }
+        }
+      }
+      return dominator;
+    }
+
+
+  //  Method findContainingRows()
+  //  ----------------------------------------------------------------
+  /**
+    *   Finds, in one sweep, every row whose columns include all the
+    *   columns of some other row.  Of two rows with the same columns,
+    *   the higher-numbered one is the containing one.  In a covering
+    *   chart whose rows are minterms and whose columns are prime
+    *   implicants, any cover of the contained minterm covers the
+    *   containing one as well, so all of these rows can be dropped: a
+    *   row contained by a dropped row is contained by whatever that
+    *   row contains, and so on down to a row that is kept.
+    *
+    *   @param  ignore  Rows to leave out of the comparison, or null.
+    *   @return For each row, the lowest-numbered row it contains, or
+    *           -1 if it contains none (or the row is ignored).
+    */
+    public int[] findContainingRows( boolean[] ignore )
+    {
+      int[] contained = new int[ numRows ];
+      Arrays.fill( contained, -1 );
+      for (int i=0; i<numRows; i++)
+      {
+        if ( ignore != null && ignore[i] )
+          continue;
+        for (int j=0; j<numRows; j++)
+        {
+          if ( i == j || (ignore != null && ignore[j]) ||
+               rowCount[j] > rowCount[i] ||
+               (rowCount[j] == rowCount[i] && j > i) )
+            continue;
+          if ( contains( i, j ) )
+          {
+            contained[i] = j;
+            break;
+          }
+        }
+      }
+      return contained;
+    }
+
+  }
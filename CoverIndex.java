@@ -0,0 +1,291 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class CoverIndex
+//  ------------------------------------------------------------------
+/**
+  *   Keeps track of a covering chart while rows are chosen or dropped
+  *   and columns are covered.  In MinimizedTable the rows are prime
+  *   implicants and the columns are minterms.
+  *
+  *   Each column has a posting list of the rows that cover it and a
+  *   count of how many of those rows are still available.  Removing
+  *   a row updates only the counts of the columns it covers.  The
+  *   uncovered columns are kept in a heap ordered by count and then by
+  *   column number, so the least-covered column is always at hand, and
+  *   so is the first column that only one row can cover.
+  *
+  *   @version  1.0
+  */
+  public class CoverIndex
+  {
+    protected int       numRows;
+    protected int       numCols;
+    protected int[][]   rowCols;      //  columns covered by each row
+    protected int[][]   colRows;      //  rows that cover each column
+    protected int[]     count;        //  available rows for each column
+    protected boolean[] removed;      //  rows no longer available
+    protected int       numAvailable;
+
+    //  Min-heap of uncovered columns, keyed on (count, column).
+    protected int[]     heap;
+    protected int[]     heapIndex;    //  -1 if the column is covered
+    protected int       heapSize;
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates an index in which every row is available and no column
+    *   is covered.
+    *
+    *   @param  covers  covers[r] lists the columns covered by row r,
+    *                   in increasing order.  The arrays are used, not
+    *                   copied.
+    *   @param  numCols Number of columns in the chart.
+    */
+    public CoverIndex( int[][] covers, int numCols )
+    {
+      this.numRows  = covers.length;
+      this.numCols  = numCols;
+      this.rowCols  = covers;
+      count         = new int[ numCols ];
+      for (int r=0; r<numRows; r++)
+        for (int i=0; i<covers[r].length; i++)
+          count[ covers[r][i] ]++;
+      colRows       = new int[ numCols ][];
+      for (int c=0; c<numCols; c++)
+        colRows[c] = new int[ count[c] ];
+      int[] fill    = new int[ numCols ];
+      for (int r=0; r<numRows; r++)
+        for (int i=0; i<covers[r].length; i++)
+        {
+          int c = covers[r][i];
+          colRows[c][ fill[c]++ ] = r;
+        }
+      removed       = new boolean[ numRows ];
+      numAvailable  = numRows;
+
+      heap          = new int[ numCols ];
+      heapIndex     = new int[ numCols ];
+      heapSize      = numCols;
+      for (int c=0; c<numCols; c++)
+      {
+        heap[c] = c;
+        heapIndex[c] = c;
+      }
+      for (int i=heapSize/2 - 1; i>=0; i--)
+        siftDown( i );
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int      getNumRows()            { return numRows;             }
+    public int      getNumCols()            { return numCols;             }
+    public int      getNumUncovered()       { return heapSize;            }
+    public int      getNumAvailable()       { return numAvailable;        }
+    public int      getCount( int col )     { return count[col];          }
+    public boolean  isCovered( int col )    { return heapIndex[col] < 0;  }
+    public boolean  isAvailable( int row )  { return ! removed[row];      }
+    public int[]    getCols( int row )      { return rowCols[row];        }
+    public int[]    getRows( int col )      { return colRows[col];        }
+
+
+  //  Method getUncovered()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the uncovered columns in increasing order.
+    */
+    public int[] getUncovered()
+    {
+      int[] cols = Arrays.copyOf( heap, heapSize );
+      Arrays.sort( cols );
+      return cols;
+    }
+
+
+  //  Method getAvailable()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the available rows in increasing order.
+    */
+    public int[] getAvailable()
+    {
+      int[] rows = new int[ numAvailable ];
+      for (int r=0, i=0; i<numAvailable; r++)
+        if ( ! removed[r] )
+          rows[i++] = r;
+      return rows;
+    }
+
+
+  //  Method leastCovered()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the uncovered column with the fewest available rows,
+    *   the lowest-numbered one if there is a tie, or -1 if every column
+    *   is covered.
+    */
+    public int leastCovered()
+    {
+      return (heapSize == 0) ? -1 : heap[0];
+    }
+
+
+  //  Method firstRow()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the lowest-numbered available row that covers col, or
+    *   -1 if there is none.
+    */
+    public int firstRow( int col )
+    {
+      int[] rows = colRows[col];
+      for (int i=0; i<rows.length; i++)
+        if ( ! removed[ rows[i] ] )
+          return rows[i];
+      return -1;
+    }
+
+
+  //  Method removeRow()
+  //  ----------------------------------------------------------------
+  /**
+    *   Makes a row unavailable, whether because it was chosen or
+    *   because it is no longer wanted, and lowers the counts of the
+    *   columns it covers.  Does nothing if the row was already removed.
+    */
+    public void removeRow( int row )
+    {
+      if ( removed[row] )
+        return;
+      removed[row] = true;
+      numAvailable--;
+      int[] cols = rowCols[row];
+      for (int i=0; i<cols.length; i++)
+      {
+        int c = cols[i];
+        count[c]--;
+        if ( heapIndex[c] >= 0 )
+          siftUp( heapIndex[c] );
+      }
+    }
+
+
+  //  Method coverCol()
+  //  ----------------------------------------------------------------
+  /**
+    *   Marks a column covered.
+    *
+    *   @return False if it was already covered.
+    */
+    public boolean coverCol( int col )
+    {
+      int i = heapIndex[col];
+      if ( i < 0 )
+        return false;
+      heapIndex[col] = -1;
+      heapSize--;
+      if ( i < heapSize )
+      {
+        int moved = heap[heapSize];
+        heap[i] = moved;
+        heapIndex[moved] = i;
+        siftDown( i );
+        if ( heapIndex[moved] == i )
+          siftUp( i );
+      }
+      return true;
+    }
+
+
+  //  Heap maintenance
+  //  ================================================================
+
+  //  less()
+  //  ----------------------------------------------------------------
+    protected boolean less( int c1, int c2 )
+    {
+      return count[c1] < count[c2] || (count[c1] == count[c2] && c1 < c2);
+    }
+
+  //  siftUp()
+  //  ----------------------------------------------------------------
+    protected void siftUp( int i )
+    {
+      int c = heap[i];
+      while ( i > 0 )
+      {
+        int parent = (i - 1) >>> 1;
+        if ( ! less( c, heap[parent] ) )
+          break;
+        heap[i] = heap[parent];
+        heapIndex[ heap[i] ] = i;
+        i = parent;
+      }
+      heap[i] = c;
+      heapIndex[c] = i;
+    }
+
+  //  siftDown()
+  //  ----------------------------------------------------------------
+    protected void siftDown( int i )
+    {
+      int c = heap[i];
+      while ( true )
+      {
+        int child = 2 * i + 1;
+        if ( child >= heapSize )
+          break;
+        if ( child + 1 < heapSize && less( heap[child + 1], heap[child] ) )
+          child++;
+        if ( ! less( heap[child], c ) )
+          break;
+        heap[i] = heap[child];
+        heapIndex[ heap[i] ] = i;
+        i = child;
+      }
+      heap[i] = c;
+      heapIndex[c] = i;
+    }
+
+  }
@@ -0,0 +1,312 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class Cube
+//  ------------------------------------------------------------------
+/**
+  *   A product term over any number of variables.  Like ProductTerm,
+  *   a cube is a value and a mask: bit i of the mask is 1 if variable
+  *   i appears in the term, and bit i of the value gives its polarity.
+  *   Bit 0 is the rightmost (last) variable.
+  *
+  *   Functions of up to 64 variables can use the static methods, which
+  *   work on a value and a mask held in single longs, as ProductTerm
+  *   and the one-word CubeStore do.  Cube objects hold arrays of longs,
+  *   64 variables per word, for wider functions; a CubeStore with more
+  *   than one word per term keeps them without creating objects, and
+  *   PrimeImplicantFinder.findPrimeImplicants( Cube[] ) reduces them.
+  *   Either way, literal counts and differences are computed with
+  *   Long.bitCount(), which the JVM compiles to a single instruction
+  *   where the hardware has one.
+  *
+  *   @version  1.0
+  */
+  public class Cube
+  {
+    protected final int     numVars;
+    protected final long[]  value;
+    protected final long[]  mask;
+
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates the cube with no literals (the constant 1) over numVars
+    *   variables.
+    */
+    public Cube( int numVars )
+    {
+      this.numVars  = numVars;
+      this.value    = new long[ numWords( numVars ) ];
+      this.mask     = new long[ value.length ];
+    }
+
+  /**
+    *   Creates a cube from arrays of words, which are copied.  Value
+    *   bits outside the mask are cleared.
+    */
+    public Cube( int numVars, long[] value, long[] mask )
+    {
+      this( numVars );
+      if ( value.length != this.value.length ||
+           mask.length != this.mask.length )
+        throw new RuntimeException( "Cube over " + numVars +
+              " variables needs " + this.value.length + " words." );
+      for (int w=0; w<mask.length; w++)
+      {
+        this.mask[w]  = mask[w];
+        this.value[w] = value[w] & mask[w];
+      }
+    }
+
+  /**
+    *   Creates a cube over at most 64 variables from single words.
+    */
+    public Cube( int numVars, long value, long mask )
+    {
+      this( numVars, new long[] { value }, new long[] { mask } );
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int      getNumVars()        { return numVars;             }
+    public long[]   getValue()          { return value.clone();       }
+    public long[]   getMask()           { return mask.clone();        }
+    public boolean  getBit( long[] x, int i )
+    {
+      return (x[i >>> 6] & (1L << i)) != 0;
+    }
+
+  //  Method numWords()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of longs needed for numVars variables.
+    */
+    public static int numWords( int numVars )
+    {
+      return Math.max( 1, (numVars + 63) >>> 6 );
+    }
+
+
+  //  Single-word operations
+  //  ================================================================
+
+  //  reduces()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if cubes (v1, m1) and (v2, m2) can be combined by
+    *   eliminating one variable: they have the same mask and their
+    *   values differ in exactly one place.  The combined cube has mask
+    *   m1 & ~(v1 ^ v2) and value v1 & that mask.
+    */
+    public static boolean reduces( long v1, long m1, long v2, long m2 )
+    {
+      return m1 == m2 && Long.bitCount( (v1 ^ v2) & m1 ) == 1;
+    }
+
+  //  covers()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if cube (value, mask) covers the minterm or cube
+    *   whose value is target.  The target's mask must include mask.
+    */
+    public static boolean covers( long value, long mask, long target )
+    {
+      return ((value ^ target) & mask) == 0;
+    }
+
+  //  contains()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if every minterm of cube 2 is in cube 1.
+    */
+    public static boolean contains( long v1, long m1, long v2, long m2 )
+    {
+      return (m1 & ~m2) == 0 && ((v1 ^ v2) & m1) == 0;
+    }
+
+  //  intersects()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if the two cubes have a minterm in common.
+    */
+    public static boolean intersects( long v1, long m1, long v2, long m2 )
+    {
+      return ((v1 ^ v2) & m1 & m2) == 0;
+    }
+
+  //  numLiterals()
+  //  ----------------------------------------------------------------
+    public static int numLiterals( long mask )
+    {
+      return Long.bitCount( mask );
+    }
+
+
+  //  Multi-word operations
+  //  ================================================================
+
+  //  reduces()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the cube obtained by eliminating the one variable in
+    *   which this and target differ, or null if they have different
+    *   masks or differ in more or fewer than one variable.
+    */
+    public Cube reduces( Cube target )
+    {
+      if ( ! Arrays.equals( mask, target.mask ) )
+        return null;
+      int differences = 0;
+      for (int w=0; w<mask.length; w++)
+        differences += Long.bitCount( (value[w] ^ target.value[w]) & mask[w] );
+      if ( differences != 1 )
+        return null;
+      Cube reduced = new Cube( numVars );
+      for (int w=0; w<mask.length; w++)
+      {
+        reduced.mask[w]   = mask[w] & ~(value[w] ^ target.value[w]);
+        reduced.value[w]  = value[w] & reduced.mask[w];
+      }
+      return reduced;
+    }
+
+  //  covers()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if this cube contains target.
+    */
+    public boolean covers( Cube target )
+    {
+      for (int w=0; w<mask.length; w++)
+      {
+        if ( (mask[w] & ~target.mask[w]) != 0 ||
+             ((value[w] ^ target.value[w]) & mask[w]) != 0 )
+          return false;
+      }
+      return true;
+    }
+
+  //  intersects()
+  //  ----------------------------------------------------------------
+    public boolean intersects( Cube target )
+    {
+      for (int w=0; w<mask.length; w++)
+        if ( ((value[w] ^ target.value[w]) & mask[w] & target.mask[w]) != 0 )
+          return false;
+      return true;
+    }
+
+  //  getNumLiterals()
+  //  ----------------------------------------------------------------
+    public int getNumLiterals()
+    {
+      int n = 0;
+      for (int w=0; w<mask.length; w++)
+        n += Long.bitCount( mask[w] );
+      return n;
+    }
+
+
+  //  Method equals()
+  //  ----------------------------------------------------------------
+    public boolean equals( Object x )
+    {
+      if ( ! (x instanceof Cube) ) return false;
+      Cube c = (Cube)x;
+      return numVars == c.numVars && Arrays.equals( mask, c.mask ) &&
+                                      Arrays.equals( value, c.value );
+    }
+
+  //  Method hashCode()
+  //  ----------------------------------------------------------------
+    public int hashCode()
+    {
+      return 31 * Arrays.hashCode( mask ) + Arrays.hashCode( value );
+    }
+
+
+  //  Method toString()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the cube as a product of variable names, most
+    *   significant variable first, using ' for complement.
+    *
+    *   @param  variableNames One name per variable; variableNames[0]
+    *                         is the most significant (leftmost) one.
+    */
+    public String toString( char[] variableNames )
+    {
+      StringBuffer sb = new StringBuffer();
+      for (int i=numVars-1; i>=0; i--)
+      {
+        if ( getBit( mask, i ) )
+        {
+          sb.append( variableNames[(numVars-1)-i] );
+          if ( ! getBit( value, i ) )
+            sb.append( '\'' );  // Negate
+        }
+      }
+      if ( sb.length() == 0 ) return "1";
+      return new String( sb );
+    }
+
+  //  Method toString()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the cube as a string of 1, 0, and - characters, most
+    *   significant variable first.
+    */
+    public String toString()
+    {
+      StringBuffer sb = new StringBuffer();
+      for (int i=numVars-1; i>=0; i--)
+      {
+        if ( ! getBit( mask, i ) )
+          sb.append( '-' );
+        else
+          sb.append( getBit( value, i ) ? '1' : '0' );
+      }
+      return new String( sb );
+    }
+
+  }
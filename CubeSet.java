@@ -0,0 +1,290 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class CubeSet
+//  ------------------------------------------------------------------
+/**
+  *   A set of product terms, each represented by its value and mask,
+  *   using open addressing with linear probing.  Members are numbered
+  *   in the order they were added.  No objects are created per
+  *   member.
+  *
+  *   As in CubeStore, a value and a mask are numWords longs each.  A
+  *   set of one word per term is used with the add() and indexOf()
+  *   methods that take longs; wider terms use the ones that take
+  *   arrays.
+  *
+  *   @version  1.0
+  */
+  public class CubeSet
+  {
+    protected static final int  NO_ENTRY  = -1;
+
+    protected int       numWords;
+    protected int[]     slots;      //  Member number, or NO_ENTRY.
+    protected long[]    keys;       //  Value words, then mask words,
+                                    //  by member.
+    protected int       size      = 0;
+    protected int       slotMask;   //  slots.length - 1
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+    public CubeSet()
+    {
+      this( 16 );
+    }
+
+  /**
+    *   @param  expectedSize  Number of members that can be added
+    *                         before the set has to grow.
+    */
+    public CubeSet( int expectedSize )
+    {
+      this( expectedSize, 1 );
+    }
+
+  /**
+    *   @param  expectedSize  Number of members that can be added
+    *                         before the set has to grow.
+    *   @param  numWords      Longs per value and per mask.
+    */
+    public CubeSet( int expectedSize, int numWords )
+    {
+      int numSlots = 16;
+      while ( numSlots < 2 * expectedSize )
+        numSlots <<= 1;
+      this.numWords = numWords;
+      slots     = new int[ numSlots ];
+      Arrays.fill( slots, NO_ENTRY );
+      slotMask  = numSlots - 1;
+      keys      = new long[ 2 * numWords * Math.max( expectedSize, 1 ) ];
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int      size()                { return size;                }
+    public int      getNumWords()         { return numWords;            }
+    public long     getValue( int i )     { return keys[2 * i];         }
+    public long     getMask( int i )      { return keys[2 * i + 1];     }
+
+
+  //  Method indexOf()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the member number of the term with the given value and
+    *   mask, or -1 if it is not in the set.
+    */
+    public int indexOf( long value, long mask )
+    {
+      for ( int s = hash( value, mask ) & slotMask; ;
+                                                  s = (s + 1) & slotMask )
+      {
+        int i = slots[s];
+        if ( i == NO_ENTRY ) return -1;
+        if ( keys[2 * i] == value && keys[2 * i + 1] == mask ) return i;
+      }
+    }
+
+  /**
+    *   Returns the member number of the term whose value and mask are
+    *   the given arrays of numWords longs, or -1.
+    */
+    public int indexOf( long[] value, long[] mask )
+    {
+      for ( int s = hash( value, mask ) & slotMask; ;
+                                                  s = (s + 1) & slotMask )
+      {
+        int i = slots[s];
+        if ( i == NO_ENTRY ) return -1;
+        if ( matches( i, value, mask ) ) return i;
+      }
+    }
+
+
+  //  Method add()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds a term to the set if it is not already a member.
+    *
+    *   @return The member number of the term if it was added, or
+    *           -(member number + 1) if it was already in the set.
+    */
+    public int add( long value, long mask )
+    {
+      int s = hash( value, mask ) & slotMask;
+      for ( ; slots[s] != NO_ENTRY; s = (s + 1) & slotMask )
+      {
+        int i = slots[s];
+        if ( keys[2 * i] == value && keys[2 * i + 1] == mask )
+          return -(i + 1);
+      }
+      if ( 2 * numWords * size == keys.length )
+        grow();
+      keys[2 * size]      = value;
+      keys[2 * size + 1]  = mask;
+      return insert( s );
+    }
+
+  /**
+    *   Adds a term given as arrays of numWords longs.
+    */
+    public int add( long[] value, long[] mask )
+    {
+      int s = hash( value, mask ) & slotMask;
+      for ( ; slots[s] != NO_ENTRY; s = (s + 1) & slotMask )
+      {
+        if ( matches( slots[s], value, mask ) )
+          return -(slots[s] + 1);
+      }
+      if ( 2 * numWords * size == keys.length )
+        grow();
+      System.arraycopy( value, 0, keys, 2 * numWords * size, numWords );
+      System.arraycopy( mask, 0, keys, (2 * size + 1) * numWords, numWords );
+      return insert( s );
+    }
+
+    protected int insert( int s )
+    {
+      slots[s] = size;
+      if ( 2 * ++size > slots.length )
+        rehash();
+      return size - 1;
+    }
+
+    protected boolean matches( int i, long[] value, long[] mask )
+    {
+      int v = 2 * numWords * i;
+      int m = v + numWords;
+      for (int w=0; w<numWords; w++)
+        if ( keys[v + w] != value[w] || keys[m + w] != mask[w] )
+          return false;
+      return true;
+    }
+
+    protected void grow()
+    {
+      long[] newKeys = new long[ 2 * keys.length ];
+      System.arraycopy( keys, 0, newKeys, 0, 2 * numWords * size );
+      keys = newKeys;
+    }
+
+
+  //  Method clear()
+  //  ----------------------------------------------------------------
+  /**
+    *   Removes all members, keeping the space already allocated.
+    */
+    public void clear()
+    {
+      Arrays.fill( slots, NO_ENTRY );
+      size = 0;
+    }
+
+
+  //  Method rehash()
+  //  ----------------------------------------------------------------
+  /**
+    *   Doubles the number of slots and re-inserts all members.
+    */
+    protected void rehash()
+    {
+      slots = new int[ 2 * slots.length ];
+      Arrays.fill( slots, NO_ENTRY );
+      slotMask = slots.length - 1;
+      for (int i=0; i<size; i++)
+      {
+        int s = hash( i ) & slotMask;
+        while ( slots[s] != NO_ENTRY )
+          s = (s + 1) & slotMask;
+        slots[s] = i;
+      }
+    }
+
+
+  //  Method hash()
+  //  ----------------------------------------------------------------
+  /**
+    *   Mixes all the bits of a term so that terms that differ in only
+    *   a few bits land in different slots.
+    */
+    protected static int hash( long value, long mask )
+    {
+      return mix( value * 0x9e3779b97f4a7c15L ^ mask );
+    }
+
+    protected static int hash( long[] value, long[] mask )
+    {
+      if ( value.length == 1 )
+        return hash( value[0], mask[0] );
+      long h = 0;
+      for (int w=0; w<value.length; w++)
+        h = (h ^ value[w] * 0x9e3779b97f4a7c15L ^ mask[w]) *
+                                                      0xbf58476d1ce4e5b9L;
+      return mix( h );
+    }
+
+  /**
+    *   Returns the hash of member i.
+    */
+    protected int hash( int i )
+    {
+      if ( numWords == 1 )
+        return hash( keys[2 * i], keys[2 * i + 1] );
+      long h = 0;
+      int v = 2 * numWords * i;
+      for (int w=0; w<numWords; w++)
+        h = (h ^ keys[v + w] * 0x9e3779b97f4a7c15L ^ keys[v + numWords + w]) *
+                                                      0xbf58476d1ce4e5b9L;
+      return mix( h );
+    }
+
+    protected static int mix( long key )
+    {
+      key ^= key >>> 33;
+      key *= 0xff51afd7ed558ccdL;
+      key ^= key >>> 33;
+      key *= 0xc4ceb9fe1a85ec53L;
+      key ^= key >>> 33;
+      return (int)key;
+    }
+
+  }
@@ -0,0 +1,303 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Vector;
+
+//  Class CubeStore
+//  ------------------------------------------------------------------
+/**
+  *   A list of product terms kept as parallel arrays of values and
+  *   masks instead of as ProductTerm objects.  Adding a term does not
+  *   create an object unless the arrays have to grow, and a store can
+  *   be cleared and reused, so a pass of the reduction process can
+  *   merge millions of terms without creating garbage.  ProductTerm
+  *   objects are created only when toProductTerms() is called.
+  *
+  *   Each term takes numWords longs of value and numWords of mask, 64
+  *   variables per word, as in Cube.  A store of one word per term,
+  *   the default, holds terms of up to 64 variables and is read and
+  *   written with getValue( i ), getMask( i ), and add( value, mask ).
+  *   Wider terms are read with getCube() and written with the add()
+  *   methods that take arrays.
+  *
+  *   @version  1.0
+  */
+  public class CubeStore
+  {
+    protected int     numWords;
+    protected long[]  values;     //  Term i is words i*numWords ...
+    protected long[]  masks;
+    protected int     size    = 0;
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+    public CubeStore()
+    {
+      this( 16 );
+    }
+
+  /**
+    *   @param  capacity  Number of terms that can be added before the
+    *                     arrays have to grow.
+    */
+    public CubeStore( int capacity )
+    {
+      this( capacity, 1 );
+    }
+
+  /**
+    *   @param  capacity  Number of terms that can be added before the
+    *                     arrays have to grow.
+    *   @param  numWords  Longs per value and per mask; see
+    *                     Cube.numWords().
+    */
+    public CubeStore( int capacity, int numWords )
+    {
+      this.numWords = numWords;
+      values  = new long[ Math.max( capacity, 1 ) * numWords ];
+      masks   = new long[ values.length ];
+    }
+
+  /**
+    *   Creates a store holding the values and masks of an array of
+    *   product terms, in the same order.
+    */
+    public CubeStore( ProductTerm[] terms )
+    {
+      this( terms.length );
+      for (int t=0; t<terms.length; t++)
+        add( terms[t].getValue(), terms[t].getMask() );
+    }
+
+  /**
+    *   Creates a store holding an array of cubes over numVars
+    *   variables, in the same order.
+    */
+    public CubeStore( Cube[] cubes, int numVars )
+    {
+      this( cubes.length, Cube.numWords( numVars ) );
+      for (int c=0; c<cubes.length; c++)
+        add( cubes[c] );
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int  size()                { return size;        }
+    public int  getNumWords()         { return numWords;    }
+
+  /**
+    *   Returns the value or mask of term i of a store of one word per
+    *   term.
+    */
+    public long getValue( int i )     { return values[i];   }
+    public long getMask( int i )      { return masks[i];    }
+
+  /**
+    *   Returns word w of the value or mask of term i.
+    */
+    public long getValue( int i, int w )  { return values[i * numWords + w]; }
+    public long getMask( int i, int w )   { return masks[i * numWords + w];  }
+
+
+  //  Method getCube()
+  //  ----------------------------------------------------------------
+  /**
+    *   Copies the value and mask of term i into arrays of numWords
+    *   longs.
+    */
+    public void getCube( int i, long[] value, long[] mask )
+    {
+      System.arraycopy( values, i * numWords, value, 0, numWords );
+      System.arraycopy( masks,  i * numWords, mask,  0, numWords );
+    }
+
+  /**
+    *   Returns term i as a Cube over numVars variables.
+    */
+    public Cube getCube( int i, int numVars )
+    {
+      Cube cube = new Cube( numVars );
+      getCube( i, cube.value, cube.mask );
+      return cube;
+    }
+
+
+  //  Method add()
+  //  ----------------------------------------------------------------
+  /**
+    *   Appends a term to a store of one word per term, doubling the
+    *   size of the arrays if they are full.
+    *
+    *   @return The index of the new term.
+    */
+    public int add( long value, long mask )
+    {
+      if ( size * numWords == values.length )
+        grow();
+      values[size] = value;
+      masks[size]  = mask;
+      return size++;
+    }
+
+  /**
+    *   Appends a term given as arrays of numWords longs.
+    *
+    *   @return The index of the new term.
+    */
+    public int add( long[] value, long[] mask )
+    {
+      if ( size * numWords == values.length )
+        grow();
+      System.arraycopy( value, 0, values, size * numWords, numWords );
+      System.arraycopy( mask,  0, masks,  size * numWords, numWords );
+      return size++;
+    }
+
+  /**
+    *   Appends a cube, which must have numWords words.
+    *
+    *   @return The index of the new term.
+    */
+    public int add( Cube cube )
+    {
+      if ( cube.mask.length != numWords )
+        throw new RuntimeException( "A cube of " + cube.getNumVars() +
+                " variables does not fit a store of " + numWords +
+                " words per term." );
+      return add( cube.value, cube.mask );
+    }
+
+  /**
+    *   Appends term i of another store with the same number of words.
+    *
+    *   @return The index of the new term.
+    */
+    public int add( CubeStore from, int i )
+    {
+      if ( size * numWords == values.length )
+        grow();
+      System.arraycopy( from.values, i * numWords,
+                        values, size * numWords, numWords );
+      System.arraycopy( from.masks,  i * numWords,
+                        masks,  size * numWords, numWords );
+      return size++;
+    }
+
+    protected void grow()
+    {
+      long[] newValues = new long[ 2 * values.length ];
+      System.arraycopy( values, 0, newValues, 0, size * numWords );
+      values = newValues;
+      long[] newMasks = new long[ 2 * masks.length ];
+      System.arraycopy( masks, 0, newMasks, 0, size * numWords );
+      masks = newMasks;
+    }
+
+
+  //  Method compact()
+  //  ----------------------------------------------------------------
+  /**
+    *   Removes the terms for which keep[i] is false, preserving the
+    *   order of the others.
+    *
+    *   @return The number of terms left.
+    */
+    public int compact( boolean[] keep )
+    {
+      int kept = 0;
+      for (int i=0; i<size; i++)
+      {
+        if ( keep[i] )
+        {
+          System.arraycopy( values, i * numWords,
+                            values, kept * numWords, numWords );
+          System.arraycopy( masks,  i * numWords,
+                            masks,  kept * numWords, numWords );
+          kept++;
+        }
+      }
+      size = kept;
+      return size;
+    }
+
+
+  //  Method clear()
+  //  ----------------------------------------------------------------
+  /**
+    *   Removes all terms, keeping the space already allocated.
+    */
+    public void clear()
+    {
+      size = 0;
+    }
+
+
+  //  Method toProductTerms()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the terms of a store of one word per term as
+    *   ProductTerm objects that use the given variable names.
+    */
+    public Vector<ProductTerm> toProductTerms( char[] variableNames )
+    {
+      if ( numWords != 1 )
+        throw new RuntimeException( "Terms of " + numWords +
+                            " words are too wide for ProductTerm." );
+      Vector<ProductTerm> terms = new Vector<ProductTerm>( size );
+      for (int i=0; i<size; i++)
+        terms.add( new ProductTerm( values[i], masks[i], variableNames ) );
+      return terms;
+    }
+
+
+  //  Method toCubes()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the terms as Cube objects over numVars variables.
+    */
+    public Vector<Cube> toCubes( int numVars )
+    {
+      Vector<Cube> cubes = new Vector<Cube>( size );
+      for (int i=0; i<size; i++)
+        cubes.add( getCube( i, numVars ) );
+      return cubes;
+    }
+
+  }
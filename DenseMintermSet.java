@@ -0,0 +1,221 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+//  Class DenseMintermSet
+//  ------------------------------------------------------------------
+/**
+  *   The true rows of a truth table, kept as a bitset of 64 rows per
+  *   long: row r is bit (r % 64) of word (r / 64).  A table of 2^24
+  *   rows takes 2 MB instead of the 16 MB of a boolean[].
+  *
+  *   indexOf() and select() use a table of the number of rows before
+  *   each word, which is built the first time it is needed.
+  *
+  *   @version  1.0
+  */
+  public class DenseMintermSet extends MintermSet
+  {
+    protected long[]  words;
+    protected int     cardinality;
+    protected int[]   rowsBefore    = null;   //  See rowsBefore()
+
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates an empty set for a table of numRows rows.
+    */
+    public DenseMintermSet( int numRows )
+    {
+      this.numRows      = numRows;
+      this.words        = new long[ (numRows + 63) >>> 6 ];
+      this.cardinality  = 0;
+    }
+
+  /**
+    *   Creates a set from the words of a truth table, such as those
+    *   returned by CompiledExpression.evaluateWords().  The array is
+    *   used, not copied.
+    */
+    public DenseMintermSet( long[] words, int numRows )
+    {
+      this.numRows      = numRows;
+      this.words        = words;
+      this.cardinality  = 0;
+      for (int w=0; w<words.length; w++)
+        cardinality += BitManipulation.countBits( words[w] );
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int      cardinality()     { return cardinality;   }
+    public long[]   getWords()        { return words;         }
+    public long[]   toWords()         { return words.clone(); }
+
+
+  //  Method contains()
+  //  ----------------------------------------------------------------
+    public boolean contains( long row )
+    {
+      return (words[(int)(row >>> 6)] & (1L << row)) != 0;
+    }
+
+
+  //  Method add()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds a row to the set.
+    *
+    *   @return False if the row was already in the set.
+    */
+    public boolean add( int row )
+    {
+      if ( row < 0 || row >= numRows )
+        throw new RuntimeException( "Row " + row +
+                          " is not in a table of " + numRows + " rows." );
+      long bit = 1L << row;
+      if ( (words[row >>> 6] & bit) != 0 )
+        return false;
+      words[row >>> 6] |= bit;
+      cardinality++;
+      rowsBefore = null;
+      return true;
+    }
+
+
+  //  Method indexOf()
+  //  ----------------------------------------------------------------
+    public int indexOf( long row )
+    {
+      long word = words[(int)(row >>> 6)];
+      long bit  = 1L << row;
+      if ( (word & bit) == 0 )
+        return -1;
+      return rowsBefore()[(int)(row >>> 6)] +
+                              BitManipulation.countBits( word & (bit - 1) );
+    }
+
+
+  //  Method select()
+  //  ----------------------------------------------------------------
+  /**
+    *   Finds the word by binary search of the table of rows before
+    *   each word, then the row within the word.
+    */
+    public long select( int index )
+    {
+      if ( index < 0 || index >= cardinality )
+        throw new RuntimeException( "No minterm " + index + " in a set of " +
+                                                      cardinality + "." );
+      int[] before = rowsBefore();
+      int lo = 0, hi = before.length - 1;
+      while ( lo < hi )
+      {
+        int mid = (lo + hi + 1) >>> 1;
+        if ( before[mid] <= index )
+          lo = mid;
+        else
+          hi = mid - 1;
+      }
+      long bits = words[lo];
+      for (int n = index - before[lo]; n > 0; n--)
+        bits &= bits - 1;
+      return ((long)lo << 6) + Long.numberOfTrailingZeros( bits );
+    }
+
+
+  //  Method rowsBefore()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of rows in the set before each word.
+    */
+    protected int[] rowsBefore()
+    {
+      if ( rowsBefore == null )
+      {
+        int[] before = new int[ words.length ];
+        for (int w=1; w<words.length; w++)
+          before[w] = before[w - 1] + BitManipulation.countBits( words[w - 1] );
+        rowsBefore = before;
+      }
+      return rowsBefore;
+    }
+
+
+  //  Method nextSetBit()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the first row in the set that is at least from, or -1
+    *   if there is none.  To visit the rows in order:
+    *
+    *     for (long r = s.nextSetBit(0); r >= 0; r = s.nextSetBit(r+1))
+    */
+    public long nextSetBit( long from )
+    {
+      if ( from >= numRows )
+        return -1;
+      int w = (int)(from >>> 6);
+      long bits = words[w] & (-1L << from);
+      while ( bits == 0 )
+      {
+        if ( ++w == words.length )
+          return -1;
+        bits = words[w];
+      }
+      return (w << 6) + Long.numberOfTrailingZeros( bits );
+    }
+
+
+  //  Method toArray()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the rows in the set, in increasing order.
+    */
+    public long[] toArray()
+    {
+      long[] rows = new long[ cardinality ];
+      int n = 0;
+      for (int w=0; w<words.length; w++)
+        for (long bits = words[w]; bits != 0; bits &= bits - 1)
+          rows[ n++ ] = (w << 6) + Long.numberOfTrailingZeros( bits );
+      return rows;
+    }
+
+  }
@@ -0,0 +1,437 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Vector;
+
+//  Class Espresso
+//  ------------------------------------------------------------------
+/**
+  *   Heuristic minimization in the style of the Espresso program.
+  *   Instead of generating every prime implicant, it improves a cover
+  *   of the function by repeating three steps:
+  *
+  *   EXPAND      Make each cube as large as possible without covering
+  *               any row where the function is false, dropping cubes
+  *               that are covered by cubes already expanded.
+  *   IRREDUNDANT Remove cubes that are covered by the other cubes.
+  *   REDUCE      Shrink each cube to the smallest cube that still
+  *               covers the rows no other cube covers, so the next
+  *               EXPAND can grow it in a different direction.
+  *
+  *   The loop stops when a pass fails to lower the number of cubes or,
+  *   for the same number of cubes, the number of literals.  The result
+  *   is a cover of prime implicants that is usually minimal or close to
+  *   it, but is not guaranteed to be.
+  *
+  *   Cubes are kept as parallel arrays of values and masks; rows of the
+  *   truth table are looked up in the MintermSet of the TruthTable
+  *   being minimized.  Counts and flags for rows are kept only for the
+  *   true rows, indexed by MintermSet.indexOf(), so a sparse function
+  *   of many variables does not need an array entry for every row.
+  *
+  *   @version  1.0
+  */
+  public class Espresso
+  {
+    protected TruthTable  table;
+    protected int         numVars;
+    protected long        fullMask;     //  (2^numVars) - 1
+    protected MinimizeListener listener;  //  null for no commentary
+    protected MintermSet  onSet;        //  The true rows
+
+    protected long[]      values;
+    protected long[]      masks;
+    protected int         numCubes      = 0;
+
+    protected int[]       coverCount;   //  cubes that cover each minterm
+    protected int         numPasses     = 0;
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  table The truth table to be minimized.
+    *   @param  out   Receives a description of each pass, or null if
+    *                 no commentary is wanted.
+    */
+    public Espresso( TruthTable table, PrintStream out )
+    {
+      this.table    = table;
+      this.numVars  = table.getNumVars();
+      this.fullMask = (numVars == 0) ? 0 : (-1L >>> (64 - numVars));
+      this.listener = (out == null) ? null :
+                              new TracePrinter( out, table.getVars() );
+    }
+
+  //  getNumPasses()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of REDUCE/EXPAND/IRREDUNDANT passes made
+    *   after the first EXPAND.
+    */
+    public int getNumPasses() { return numPasses; }
+
+
+  //  setListener()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sends the passes to listener instead of the PrintStream given
+    *   to the constructor, or turns the commentary off if listener is
+    *   null.
+    */
+    public void setListener( MinimizeListener listener )
+    {
+      this.listener = listener;
+    }
+
+
+  //  Method minimize()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns a cover of the truth table made of prime implicants.
+    */
+    public Vector<ProductTerm> minimize()
+    {
+      onSet = table.getMintermSet();
+      values    = onSet.toArray();
+      numCubes  = values.length;
+      masks     = new long[ numCubes ];
+      Arrays.fill( masks, fullMask );
+      coverCount = new int[ numCubes ];
+
+      expand();
+      irredundant();
+      if ( listener != null )
+        listener.espressoPass( 0, numCubes, numLiterals() );
+      numPasses = 0;
+      while ( numCubes > 0 )
+      {
+        long[]  bestValues    = Arrays.copyOf( values, numCubes );
+        long[]  bestMasks     = Arrays.copyOf( masks, numCubes );
+        int     bestCubes     = numCubes;
+        int     bestLiterals  = numLiterals();
+
+        numPasses++;
+        reduce();
+        expand();
+        irredundant();
+        if ( listener != null )
+          listener.espressoPass( numPasses, numCubes, numLiterals() );
+        if ( numCubes < bestCubes ||
+             (numCubes == bestCubes && numLiterals() < bestLiterals) )
+          continue;
+
+        //  No improvement: go back to the best cover found.
+        values    = bestValues;
+        masks     = bestMasks;
+        numCubes  = bestCubes;
+        break;
+      }
+
+      Vector<ProductTerm> cover = new Vector<ProductTerm>( numCubes );
+      char[] variableNames = table.getVars();
+      for (int c=0; c<numCubes; c++)
+        cover.add( new ProductTerm( values[c], masks[c], variableNames ) );
+      return cover;
+    }
+
+
+  //  Method expand()
+  //  ----------------------------------------------------------------
+  /**
+    *   Expands cubes, largest first, into prime implicants.  A cube is
+    *   dropped if the cubes already expanded cover all of its rows.
+    *   Each step raises (removes) the literal that brings in the most
+    *   rows not yet covered, among those that leave the cube inside
+    *   the function.
+    */
+    protected void expand()
+    {
+      sortCubes( false );
+      boolean[] covered = new boolean[ onSet.cardinality() ];
+      int kept = 0;
+      for (int c=0; c<numCubes; c++)
+      {
+        long value = values[c];
+        long mask  = masks[c];
+        if ( allCovered( value, mask, covered ) )
+          continue;
+        while ( true )
+        {
+          long bestBit  = 0;
+          int  bestGain = -1;
+          for (long bits=mask; bits != 0; bits &= bits - 1)
+          {
+            long bit = bits & -bits;
+            int gain = raiseGain( value, mask, bit, covered );
+            if ( gain > bestGain )
+            {
+              bestGain = gain;
+              bestBit = bit;
+            }
+          }
+          if ( bestGain < 0 )
+            break;
+          mask  &= ~bestBit;
+          value &= mask;
+        }
+        markCovered( value, mask, covered );
+        values[kept]  = value;
+        masks[kept]   = mask;
+        kept++;
+      }
+      numCubes = kept;
+    }
+
+
+  //  Method raiseGain()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of uncovered rows that raising bit would add
+    *   to the cube, or -1 if raising it would cover a row where the
+    *   function is false.  Only the half of the raised cube that is new
+    *   has to be checked.
+    */
+    protected int raiseGain( long value, long mask, long bit,
+                                                    boolean[] covered )
+    {
+      long other = (value ^ bit) & mask;
+      long free  = ~mask & fullMask;
+      int  gain  = 0;
+      long s     = 0;
+      do
+      {
+        int m = onSet.indexOf( other | s );
+        if ( m < 0 )
+          return -1;
+        if ( ! covered[m] )
+          gain++;
+        s = (s - free) & free;
+      } while ( s != 0 );
+      return gain;
+    }
+
+
+  //  Method irredundant()
+  //  ----------------------------------------------------------------
+  /**
+    *   Removes cubes, smallest first, whose rows are all covered by
+    *   other cubes.
+    */
+    protected void irredundant()
+    {
+      countCovers();
+      sortCubes( true );
+      int kept = 0;
+      for (int c=0; c<numCubes; c++)
+      {
+        if ( minCount( values[c], masks[c] ) > 1 )
+        {
+          addCount( values[c], masks[c], -1 );
+          continue;
+        }
+        values[kept]  = values[c];
+        masks[kept]   = masks[c];
+        kept++;
+      }
+      numCubes = kept;
+    }
+
+
+  //  Method reduce()
+  //  ----------------------------------------------------------------
+  /**
+    *   Replaces each cube, largest first, with the smallest cube that
+    *   contains the rows covered by no other cube.
+    */
+    protected void reduce()
+    {
+      countCovers();
+      sortCubes( false );
+      int kept = 0;
+      for (int c=0; c<numCubes; c++)
+      {
+        long value = values[c];
+        long mask  = masks[c];
+        long free  = ~mask & fullMask;
+        long ones  = -1;
+        long zeros = -1;
+        boolean any = false;
+        long s = 0;
+        do
+        {
+          long row = value | s;
+          if ( coverCount[ onSet.indexOf( row ) ] == 1 )
+          {
+            ones  &= row;
+            zeros &= ~row;
+            any = true;
+          }
+          s = (s - free) & free;
+        } while ( s != 0 );
+        addCount( value, mask, -1 );
+        if ( ! any )
+          continue;                 //  Redundant after all.
+        long newMask  = (ones | zeros) & fullMask;
+        long newValue = ones & newMask;
+        addCount( newValue, newMask, 1 );
+        values[kept]  = newValue;
+        masks[kept]   = newMask;
+        kept++;
+      }
+      numCubes = kept;
+    }
+
+
+  //  Cube utilities
+  //  ================================================================
+
+  //  countCovers()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sets coverCount for every row from the current cubes.
+    */
+    protected void countCovers()
+    {
+      Arrays.fill( coverCount, 0 );
+      for (int c=0; c<numCubes; c++)
+        addCount( values[c], masks[c], 1 );
+    }
+
+  //  addCount()
+  //  ----------------------------------------------------------------
+    protected void addCount( long value, long mask, int delta )
+    {
+      long free = ~mask & fullMask;
+      long s = 0;
+      do
+      {
+        coverCount[ onSet.indexOf( value | s ) ] += delta;
+        s = (s - free) & free;
+      } while ( s != 0 );
+    }
+
+  //  minCount()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the smallest cover count of any row in a cube.
+    */
+    protected int minCount( long value, long mask )
+    {
+      long free = ~mask & fullMask;
+      int  min = Integer.MAX_VALUE;
+      long s = 0;
+      do
+      {
+        min = Math.min( min, coverCount[ onSet.indexOf( value | s ) ] );
+        s = (s - free) & free;
+      } while ( s != 0 && min > 1 );
+      return min;
+    }
+
+  //  allCovered()
+  //  ----------------------------------------------------------------
+    protected boolean allCovered( long value, long mask, boolean[] covered )
+    {
+      long free = ~mask & fullMask;
+      long s = 0;
+      do
+      {
+        if ( ! covered[ onSet.indexOf( value | s ) ] ) return false;
+        s = (s - free) & free;
+      } while ( s != 0 );
+      return true;
+    }
+
+  //  markCovered()
+  //  ----------------------------------------------------------------
+    protected void markCovered( long value, long mask, boolean[] covered )
+    {
+      long free = ~mask & fullMask;
+      long s = 0;
+      do
+      {
+        covered[ onSet.indexOf( value | s ) ] = true;
+        s = (s - free) & free;
+      } while ( s != 0 );
+    }
+
+  //  numLiterals()
+  //  ----------------------------------------------------------------
+    protected int numLiterals()
+    {
+      int n = 0;
+      for (int c=0; c<numCubes; c++)
+        n += BitManipulation.countBits( masks[c] );
+      return n;
+    }
+
+  //  sortCubes()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sorts the cubes by number of literals: smallest cubes (most
+    *   literals) first if smallestFirst, else largest first.  Ties keep
+    *   their order.  The number of literals and the cube number are
+    *   packed into longs so a plain sort will do.
+    */
+    protected void sortCubes( boolean smallestFirst )
+    {
+      long[] order = new long[ numCubes ];
+      for (int c=0; c<numCubes; c++)
+      {
+        long literals = BitManipulation.countBits( masks[c] );
+        order[c] = ((smallestFirst ? numVars - literals : literals) << 32) | c;
+      }
+      Arrays.sort( order );
+      long[] newValues = new long[ numCubes ];
+      long[] newMasks  = new long[ numCubes ];
+      for (int i=0; i<numCubes; i++)
+      {
+        int c = (int)order[i];
+        newValues[i] = values[c];
+        newMasks[i]  = masks[c];
+      }
+      values  = newValues;
+      masks   = newMasks;
+    }
+
+  }
@@ -0,0 +1,581 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class ExactCover
+//  ------------------------------------------------------------------
+/**
+  *   Finds a minimum-cost set of rows that covers every column of a
+  *   covering chart, using branch-and-bound.  In MinimizedTable the
+  *   rows are prime implicants and the columns are minterms.
+  *
+  *   Each search node first reduces the chart: it selects any row that
+  *   is the only one left to cover some column, and drops dominated
+  *   rows and dominating columns.  Its lower bound is the cost so far
+  *   plus, for a set of columns no two of which share an available
+  *   row, the cheapest row that covers each of them (or the sum of the
+  *   columns' cheapest shares of row costs, if that is larger); the
+  *   node is pruned if that bound is not less than the best cover
+  *   found so far.  Otherwise it
+  *   branches on the column with the fewest available rows, trying each
+  *   of those rows in turn and excluding it from the branches after it.
+  *
+  *   Rows and columns are kept as bit sets in arrays of longs.
+  *
+  *   @version  1.0
+  */
+  public class ExactCover
+  {
+    protected int       numRows;
+    protected int       numCols;
+    protected int       rowWords;     //  longs per set of rows
+    protected int       colWords;     //  longs per set of columns
+    protected long[][]  rowCols;      //  columns covered by each row
+    protected long[][]  colRows;      //  rows that cover each column
+    protected long[]    cost;
+
+    protected long[]    bestRows;
+    protected long      bestCost;
+    protected long      numNodes      = 0;
+    protected long      nodeLimit     = Long.MAX_VALUE;
+    protected boolean   limitReached  = false;
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  covers  covers[r] lists the columns covered by row r.
+    *   @param  numCols Number of columns in the chart.
+    *   @param  cost    Cost of each row.  Must be positive.
+    */
+    public ExactCover( int[][] covers, int numCols, long[] cost )
+    {
+      this.numRows  = covers.length;
+      this.numCols  = numCols;
+      this.cost     = cost;
+      rowWords      = (numRows + 63) >>> 6;
+      colWords      = (numCols + 63) >>> 6;
+      rowCols       = new long[ numRows ][ colWords ];
+      colRows       = new long[ numCols ][ rowWords ];
+      for (int r=0; r<numRows; r++)
+      {
+        for (int i=0; i<covers[r].length; i++)
+        {
+          int c = covers[r][i];
+          rowCols[r][c >>> 6] |= 1L << c;
+          colRows[c][r >>> 6] |= 1L << r;
+        }
+      }
+    }
+
+
+  //  getNumNodes()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of search nodes visited by solve().
+    */
+    public long getNumNodes() { return numNodes; }
+
+
+  //  setNodeLimit()
+  //  ----------------------------------------------------------------
+  /**
+    *   Stops the search after this many nodes, keeping the best cover
+    *   found so far.  There is no limit by default.
+    */
+    public void setNodeLimit( long nodeLimit )
+    {
+      this.nodeLimit = nodeLimit;
+    }
+
+
+  //  isOptimal()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns false if solve() stopped at the node limit, in which
+    *   case the cover it returned may not be a minimum one.
+    */
+    public boolean isOptimal() { return ! limitReached; }
+
+
+  //  getCost()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the cost of the cover found by solve().
+    */
+    public long getCost() { return bestCost; }
+
+
+  //  Method solve()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the rows of a minimum-cost cover, in increasing order.
+    *   It's an error if some column is not covered by any row.
+    */
+    public int[] solve()
+    {
+      long[] uncovered = new long[ colWords ];
+      for (int c=0; c<numCols; c++)
+      {
+        if ( isEmpty( colRows[c] ) )
+          throw new RuntimeException( "Column " + c +
+                                      " is not covered by any row." );
+        uncovered[c >>> 6] |= 1L << c;
+      }
+      long[] available = new long[ rowWords ];
+      for (int r=0; r<numRows; r++)
+        available[r >>> 6] |= 1L << r;
+
+      //  A greedy cover gives the first upper bound.
+      bestRows = greedyCover( uncovered.clone(), available );
+      bestCost = 0;
+      for (int r=nextBit( bestRows, 0 ); r>=0; r=nextBit( bestRows, r+1 ))
+        bestCost += cost[r];
+
+      numNodes = 0;
+      limitReached = false;
+      search( new long[ rowWords ], 0, uncovered, available );
+      return toArray( bestRows );
+    }
+
+
+  //  Method search()
+  //  ----------------------------------------------------------------
+  /**
+    *   Explores one node of the search tree.  The arrays passed in are
+    *   copied before being changed.
+    */
+    protected void search( long[] chosen, long chosenCost,
+                           long[] uncovered, long[] available )
+    {
+      if ( numNodes >= nodeLimit )
+      {
+        limitReached = true;
+        return;
+      }
+      numNodes++;
+      chosen    = chosen.clone();
+      uncovered = uncovered.clone();
+      available = available.clone();
+      long[] rows = new long[ rowWords ];
+
+      //  Reduce the chart: select rows that are the only ones left
+      //  for some column, then drop dominated rows and dominating
+      //  columns, until nothing changes.  Finally find the column
+      //  with the fewest rows left.
+      boolean changed;
+      do
+      {
+        changed = false;
+        for (int c=nextBit( uncovered, 0 ); c>=0; c=nextBit( uncovered, c+1 ))
+        {
+          int n = and( colRows[c], available, rows );
+          if ( n == 0 )
+            return;                 //  No cover down this branch.
+          if ( n == 1 )
+          {
+            int r = nextBit( rows, 0 );
+            chosen[r >>> 6] |= 1L << r;
+            available[r >>> 6] &= ~(1L << r);
+            chosenCost += cost[r];
+            andNot( uncovered, rowCols[r] );
+            changed = true;
+          }
+        }
+        if ( chosenCost >= bestCost )
+          return;
+        if ( ! changed )
+          changed = removeDominatedRows( uncovered, available ) |
+                    removeDominatingColumns( uncovered, available );
+      } while ( changed );
+
+      int branchCol = -1;
+      int fewest = Integer.MAX_VALUE;
+      for (int c=nextBit( uncovered, 0 ); c>=0; c=nextBit( uncovered, c+1 ))
+      {
+        int n = and( colRows[c], available, rows );
+        if ( n < fewest )
+        {
+          fewest = n;
+          branchCol = c;
+        }
+      }
+
+      if ( branchCol < 0 )
+      {
+        //  Everything is covered, and more cheaply than before.
+        bestCost = chosenCost;
+        bestRows = chosen;
+        return;
+      }
+      if ( chosenCost + lowerBound( uncovered, available ) >= bestCost )
+        return;
+
+      //  Try each row that covers the branch column, most useful
+      //  first.  Each row is excluded from the branches that follow.
+      int n = and( colRows[branchCol], available, rows );
+      int[] candidates = toArray( rows );
+      long[] score = new long[ n ];
+      long[] newlyCovered = new long[ colWords ];
+      for (int i=0; i<n; i++)
+      {
+        int r = candidates[i];
+        for (int w=0; w<colWords; w++)
+          newlyCovered[w] = rowCols[r][w] & uncovered[w];
+        score[i] = ((long)cardinality( newlyCovered ) << 32) / cost[r];
+      }
+      sortByScore( candidates, score );
+      for (int i=0; i<n; i++)
+      {
+        int r = candidates[i];
+        available[r >>> 6] &= ~(1L << r);
+        chosen[r >>> 6] |= 1L << r;
+        long[] remaining = uncovered.clone();
+        andNot( remaining, rowCols[r] );
+        search( chosen, chosenCost + cost[r], remaining, available );
+        chosen[r >>> 6] &= ~(1L << r);
+      }
+    }
+
+
+  //  Method removeDominatedRows()
+  //  ----------------------------------------------------------------
+  /**
+    *   Makes a row unavailable if it covers no uncovered columns, or if
+    *   another available row that costs no more covers all of its
+    *   uncovered columns.  Of two identical rows with the same cost,
+    *   the one with the higher index is dropped.
+    *
+    *   @return true if any row was dropped.
+    */
+    protected boolean removeDominatedRows( long[] uncovered,
+                                           long[] available )
+    {
+      int[]     rows    = toArray( available );
+      long[][]  cols    = new long[ rows.length ][ colWords ];
+      boolean   removed = false;
+      for (int i=0; i<rows.length; i++)
+      {
+        if ( and( rowCols[rows[i]], uncovered, cols[i] ) == 0 )
+        {
+          available[rows[i] >>> 6] &= ~(1L << rows[i]);
+          removed = true;
+        }
+      }
+      for (int i=0; i<rows.length; i++)
+      {
+        int r = rows[i];
+        if ( (available[r >>> 6] & (1L << r)) == 0 )
+          continue;
+        for (int j=0; j<rows.length; j++)
+        {
+          int q = rows[j];
+          if ( i == j || (available[q >>> 6] & (1L << q)) == 0 ||
+               cost[q] > cost[r] || ! isSubset( cols[i], cols[j] ) )
+            continue;
+          if ( cost[q] == cost[r] && j > i && isSubset( cols[j], cols[i] ) )
+            continue;               //  Identical: keep the first one.
+          available[r >>> 6] &= ~(1L << r);
+          removed = true;
+          break;
+        }
+      }
+      return removed;
+    }
+
+
+  //  Method removeDominatingColumns()
+  //  ----------------------------------------------------------------
+  /**
+    *   A column needs no further attention if every row that covers
+    *   some other uncovered column also covers it: whichever row covers
+    *   the other column will cover this one too.  Of two columns with
+    *   the same rows, the one with the higher index is dropped.
+    *
+    *   @return true if any column was dropped.
+    */
+    protected boolean removeDominatingColumns( long[] uncovered,
+                                               long[] available )
+    {
+      int[]     cols    = toArray( uncovered );
+      long[][]  rows    = new long[ cols.length ][ rowWords ];
+      boolean   removed = false;
+      for (int i=0; i<cols.length; i++)
+        and( colRows[cols[i]], available, rows[i] );
+      for (int i=0; i<cols.length; i++)
+      {
+        for (int j=0; j<cols.length; j++)
+        {
+          int d = cols[j];
+          if ( i == j || (uncovered[d >>> 6] & (1L << d)) == 0 ||
+               ! isSubset( rows[j], rows[i] ) )
+            continue;
+          if ( j > i && isSubset( rows[i], rows[j] ) )
+            continue;               //  Identical: keep the first one.
+          uncovered[cols[i] >>> 6] &= ~(1L << cols[i]);
+          removed = true;
+          break;
+        }
+      }
+      return removed;
+    }
+
+
+  //  Method lowerBound()
+  //  ----------------------------------------------------------------
+  /**
+    *   Picks uncovered columns, fewest rows first, such that no two of
+    *   them can be covered by the same row, and returns the sum of the
+    *   cheapest row for each of them.  Any cover has to pay at least
+    *   that much more.
+    */
+    protected long lowerBound( long[] uncovered, long[] available )
+    {
+      //  Sort the columns by number of rows, packed with the column
+      //  number so a plain sort of longs will do.
+      int[]   cols    = toArray( uncovered );
+      long[]  order   = new long[ cols.length ];
+      long[]  rows    = new long[ rowWords ];
+      for (int i=0; i<cols.length; i++)
+        order[i] = ((long)and( colRows[cols[i]], available, rows ) << 32)
+                                                              | cols[i];
+      Arrays.sort( order );
+
+      long[]  used    = new long[ rowWords ];
+      long    bound   = 0;
+      for (int i=0; i<order.length; i++)
+      {
+        and( colRows[(int)order[i]], available, rows );
+        boolean independent = true;
+        for (int w=0; w<rowWords; w++)
+        {
+          if ( (rows[w] & used[w]) != 0 )
+          {
+            independent = false;
+            break;
+          }
+        }
+        if ( ! independent )
+          continue;
+        long cheapest = Long.MAX_VALUE;
+        for (int r=nextBit( rows, 0 ); r>=0; r=nextBit( rows, r+1 ))
+          cheapest = Math.min( cheapest, cost[r] );
+        bound += cheapest;
+        for (int w=0; w<rowWords; w++)
+          used[w] |= rows[w];
+      }
+
+      //  A second bound: share the cost of each row equally among the
+      //  uncovered columns it covers.  Every column has to pay at least
+      //  its cheapest share.  Dense charts often do better with this.
+      int[]   avail   = toArray( available );
+      double[] share  = new double[ numCols ];
+      Arrays.fill( share, Double.MAX_VALUE );
+      long[]  newlyCovered = new long[ colWords ];
+      for (int i=0; i<avail.length; i++)
+      {
+        int r = avail[i];
+        int n = and( rowCols[r], uncovered, newlyCovered );
+        if ( n == 0 )
+          continue;
+        double rowShare = (double)cost[r] / n;
+        for (int c=nextBit( newlyCovered, 0 ); c>=0; c=nextBit( newlyCovered, c+1 ))
+          if ( rowShare < share[c] )
+            share[c] = rowShare;
+      }
+      double shared = 0;
+      for (int i=0; i<cols.length; i++)
+        shared += share[cols[i]];
+      return Math.max( bound, (long)Math.ceil( shared - 1e-6 ) );
+    }
+
+
+  //  Method greedyCover()
+  //  ----------------------------------------------------------------
+  /**
+    *   Repeatedly picks the row that covers the most uncovered columns
+    *   per unit of cost.
+    */
+    protected long[] greedyCover( long[] uncovered, long[] available )
+    {
+      long[] chosen = new long[ rowWords ];
+      long[] newlyCovered = new long[ colWords ];
+      while ( ! isEmpty( uncovered ) )
+      {
+        int   bestRow   = -1;
+        long  bestScore = -1;
+        for (int r=nextBit( available, 0 ); r>=0; r=nextBit( available, r+1 ))
+        {
+          for (int w=0; w<colWords; w++)
+            newlyCovered[w] = rowCols[r][w] & uncovered[w];
+          long score = ((long)cardinality( newlyCovered ) << 32) / cost[r];
+          if ( score > bestScore )
+          {
+            bestScore = score;
+            bestRow = r;
+          }
+        }
+        chosen[bestRow >>> 6] |= 1L << bestRow;
+        andNot( uncovered, rowCols[bestRow] );
+      }
+      return chosen;
+    }
+
+
+  //  Bit set utilities
+  //  ================================================================
+
+  //  and()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sets result to x & y and returns the number of bits in it.
+    */
+    protected static int and( long[] x, long[] y, long[] result )
+    {
+      int n = 0;
+      for (int w=0; w<result.length; w++)
+      {
+        result[w] = x[w] & y[w];
+        n += Long.bitCount( result[w] );
+      }
+      return n;
+    }
+
+  //  andNot()
+  //  ----------------------------------------------------------------
+  /**
+    *   Clears the bits of x that are set in y.
+    */
+    protected static void andNot( long[] x, long[] y )
+    {
+      for (int w=0; w<x.length; w++)
+        x[w] &= ~y[w];
+    }
+
+  //  cardinality()
+  //  ----------------------------------------------------------------
+    protected static int cardinality( long[] x )
+    {
+      int n = 0;
+      for (int w=0; w<x.length; w++)
+        n += Long.bitCount( x[w] );
+      return n;
+    }
+
+  //  isSubset()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns true if every bit set in x is also set in y.
+    */
+    protected static boolean isSubset( long[] x, long[] y )
+    {
+      for (int w=0; w<x.length; w++)
+        if ( (x[w] & ~y[w]) != 0 ) return false;
+      return true;
+    }
+
+  //  isEmpty()
+  //  ----------------------------------------------------------------
+    protected static boolean isEmpty( long[] x )
+    {
+      for (int w=0; w<x.length; w++)
+        if ( x[w] != 0 ) return false;
+      return true;
+    }
+
+  //  nextBit()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the index of the first bit set at or after from, or -1
+    *   if there is none.
+    */
+    protected static int nextBit( long[] x, int from )
+    {
+      int w = from >>> 6;
+      if ( w >= x.length ) return -1;
+      long word = x[w] & (-1L << from);
+      while ( word == 0 )
+      {
+        if ( ++w >= x.length ) return -1;
+        word = x[w];
+      }
+      return (w << 6) + Long.numberOfTrailingZeros( word );
+    }
+
+  //  toArray()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the indexes of the bits that are set, in order.
+    */
+    protected static int[] toArray( long[] x )
+    {
+      int[] result = new int[ cardinality( x ) ];
+      int n = 0;
+      for (int i=nextBit( x, 0 ); i>=0; i=nextBit( x, i+1 ))
+        result[n++] = i;
+      return result;
+    }
+
+  //  sortByScore()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sorts items into decreasing order of score, keeping the original
+    *   order for equal scores.  Insertion sort: the arrays are short.
+    */
+    protected static void sortByScore( int[] items, long[] score )
+    {
+      for (int i=1; i<items.length; i++)
+      {
+        int   item  = items[i];
+        long  s     = score[i];
+        int   j     = i - 1;
+        while ( j >= 0 && score[j] < s )
+        {
+          items[j+1] = items[j];
+          score[j+1] = score[j];
+          j--;
+        }
+        items[j+1] = item;
+        score[j+1] = s;
+      }
+    }
+
+  }
@@ -0,0 +1,376 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+//  Class MappedMintermSet
+//  ------------------------------------------------------------------
+/**
+  *   A bitset of minterms kept in a memory-mapped file instead of on
+  *   the Java heap.  The operating system pages the table in and out
+  *   as it is used, the garbage collector never sees it, and other
+  *   processes can map the same file to share it.
+  *
+  *   File layout, all little-endian:
+  *
+  *     int     MAGIC
+  *     int     number of variables, n
+  *     char[n] variable names, most significant first
+  *     (padding to a multiple of 8 bytes)
+  *     long[]  2^n bits, 64 rows per word: row r is bit (r % 64) of
+  *             word (r / 64)
+  *
+  *   Every row has a bit in the file, so a table can have up to
+  *   TruthTable.MAX_DENSE_VARS variables (a 128 MB file).
+  *
+  *   The cardinality is counted when the file is opened and kept up to
+  *   date by add() and setWord().  Changes made by another process
+  *   while the file is open are seen by contains() and nextSetBit()
+  *   but not reflected in cardinality() or indexOf().
+  *
+  *   @version  1.0
+  */
+  public class MappedMintermSet extends MintermSet
+  {
+    /** "MINT", the first four bytes of a minterm file.             */
+    public static final int     MAGIC         = 0x544E494D;
+
+    /** Rows per entry of the rank table used by indexOf().         */
+    protected static final int  ROWS_PER_RANK = 4096;
+
+    protected File              file;
+    protected MappedByteBuffer  buffer;
+    protected boolean           writable;
+    protected char[]            variableNames;
+    protected int               dataOffset;     //  Byte offset of word 0
+    protected int               numWords;
+    protected int               cardinality   = 0;
+    protected int[]             rowsBefore    = null;   //  See rowsBefore()
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   Use create() or open().
+    */
+    protected MappedMintermSet( File file, MappedByteBuffer buffer,
+                           boolean writable, char[] variableNames )
+    {
+      this.file           = file;
+      this.buffer         = buffer;
+      this.writable       = writable;
+      this.variableNames  = variableNames;
+      this.numRows        = 1 << variableNames.length;
+      this.numWords       = (int)((numRows + 63) >>> 6);
+      this.dataOffset     = dataOffset( variableNames.length );
+      buffer.order( ByteOrder.LITTLE_ENDIAN );
+      for (int w=0; w<numWords; w++)
+        cardinality += BitManipulation.countBits( getWord( w ) );
+    }
+
+
+  //  Method create()
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates (or replaces) a minterm file for an empty function of the
+    *   given variables, and maps it for reading and writing.
+    */
+    public static MappedMintermSet create( File file, char[] variableNames )
+                                                        throws IOException
+    {
+      int numVars = variableNames.length;
+      if ( numVars > TruthTable.MAX_DENSE_VARS )
+        throw new RuntimeException( "Too many variables (" + numVars +
+                          "); the limit is " + TruthTable.MAX_DENSE_VARS );
+      long size = dataOffset( numVars ) + 8L * (((1 << numVars) + 63) >>> 6);
+      MappedByteBuffer buffer;
+      try ( FileChannel channel = FileChannel.open( file.toPath(),
+                                      StandardOpenOption.CREATE,
+                                      StandardOpenOption.TRUNCATE_EXISTING,
+                                      StandardOpenOption.READ,
+                                      StandardOpenOption.WRITE ) )
+      {
+        buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+      }
+      buffer.order( ByteOrder.LITTLE_ENDIAN );
+      buffer.putInt( 0, MAGIC );
+      buffer.putInt( 4, numVars );
+      for (int v=0; v<numVars; v++)
+        buffer.putChar( 8 + 2 * v, variableNames[v] );
+      return new MappedMintermSet( file, buffer, true,
+                                                variableNames.clone() );
+    }
+
+
+  //  Method open()
+  //  ----------------------------------------------------------------
+  /**
+    *   Maps an existing minterm file.
+    *
+    *   @param  writable  True to allow add() and setWord().
+    */
+    public static MappedMintermSet open( File file, boolean writable )
+                                                        throws IOException
+    {
+      MappedByteBuffer buffer;
+      try ( FileChannel channel = writable
+              ? FileChannel.open( file.toPath(), StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE )
+              : FileChannel.open( file.toPath(), StandardOpenOption.READ ) )
+      {
+        long size = channel.size();
+        if ( size > Integer.MAX_VALUE )
+          throw new IOException( file + " is too large to be a minterm file." );
+        buffer = channel.map( writable ? FileChannel.MapMode.READ_WRITE
+                                       : FileChannel.MapMode.READ_ONLY,
+                              0, size );
+      }
+      buffer.order( ByteOrder.LITTLE_ENDIAN );
+      if ( buffer.capacity() < 8 || buffer.getInt( 0 ) != MAGIC )
+        throw new IOException( file + " is not a minterm file." );
+      int numVars = buffer.getInt( 4 );
+      if ( numVars < 0 || numVars > TruthTable.MAX_DENSE_VARS ||
+           buffer.capacity() < dataOffset( numVars ) +
+                                  8L * (((1 << numVars) + 63) >>> 6) )
+        throw new IOException( file + " is not a valid minterm file." );
+      char[] variableNames = new char[ numVars ];
+      for (int v=0; v<numVars; v++)
+        variableNames[v] = buffer.getChar( 8 + 2 * v );
+      return new MappedMintermSet( file, buffer, writable, variableNames );
+    }
+
+
+  //  dataOffset()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the offset of the first word of the bitset: the header,
+    *   rounded up to a multiple of 8 bytes.
+    */
+    protected static int dataOffset( int numVars )
+    {
+      return (8 + 2 * numVars + 7) & ~7;
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public File     getFile()           { return file;                    }
+    public int      getNumVars()        { return variableNames.length;    }
+    public char[]   getVariableNames()  { return variableNames.clone();   }
+    public int      getNumWords()       { return numWords;                }
+    public int      cardinality()       { return cardinality;             }
+
+    public long getWord( int w )
+    {
+      return buffer.getLong( dataOffset + 8 * w );
+    }
+
+
+  //  Method setWord()
+  //  ----------------------------------------------------------------
+  /**
+    *   Replaces 64 rows of the table at once, such as a word returned
+    *   by CompiledExpression.evaluateWord().
+    */
+    public void setWord( int w, long bits )
+    {
+      checkWritable();
+      if ( numRows < 64 )
+        bits &= (1L << numRows) - 1;
+      cardinality += BitManipulation.countBits( bits ) -
+                     BitManipulation.countBits( getWord( w ) );
+      buffer.putLong( dataOffset + 8 * w, bits );
+      rowsBefore = null;
+    }
+
+
+  //  Method add()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds a row to the set.
+    *
+    *   @return False if the row was already in the set.
+    */
+    public boolean add( int row )
+    {
+      checkWritable();
+      if ( row < 0 || row >= numRows )
+        throw new RuntimeException( "Row " + row +
+                          " is not in a table of " + numRows + " rows." );
+      long word = getWord( row >>> 6 );
+      long bit  = 1L << row;
+      if ( (word & bit) != 0 )
+        return false;
+      buffer.putLong( dataOffset + 8 * (row >>> 6), word | bit );
+      cardinality++;
+      rowsBefore = null;
+      return true;
+    }
+
+    protected void checkWritable()
+    {
+      if ( ! writable )
+        throw new RuntimeException( file + " was opened read-only." );
+    }
+
+
+  //  Method force()
+  //  ----------------------------------------------------------------
+  /**
+    *   Writes any changes through to the file.
+    */
+    public void force()
+    {
+      if ( writable )
+        buffer.force();
+    }
+
+
+  //  MintermSet methods
+  //  ----------------------------------------------------------------
+    public boolean contains( long row )
+    {
+      return (getWord( (int)(row >>> 6) ) & (1L << row)) != 0;
+    }
+
+    public long nextSetBit( long from )
+    {
+      if ( from >= numRows )
+        return -1;
+      int w = (int)(from >>> 6);
+      long bits = getWord( w ) & (-1L << from);
+      while ( bits == 0 )
+      {
+        if ( ++w == numWords )
+          return -1;
+        bits = getWord( w );
+      }
+      return (w << 6) + Long.numberOfTrailingZeros( bits );
+    }
+
+  /**
+    *   Uses a table with the number of rows in the set before each
+    *   block of ROWS_PER_RANK rows, built the first time it is needed,
+    *   so the table on the heap is 1/32768 the size of the file.
+    */
+    public int indexOf( long row )
+    {
+      if ( ! contains( row ) )
+        return -1;
+      int wordsPerRank = ROWS_PER_RANK >>> 6;
+      int w = (int)(row >>> 6);
+      int n = rowsBefore()[ w / wordsPerRank ];
+      for (int i = w - w % wordsPerRank; i < w; i++)
+        n += BitManipulation.countBits( getWord( i ) );
+      return n + BitManipulation.countBits( getWord( w ) & ((1L << row) - 1) );
+    }
+
+  /**
+    *   Finds the block by binary search of the same table as indexOf(),
+    *   then counts words to the one that holds the row.
+    */
+    public long select( int index )
+    {
+      if ( index < 0 || index >= cardinality )
+        throw new RuntimeException( "No minterm " + index + " in a set of " +
+                                                      cardinality + "." );
+      int wordsPerRank = ROWS_PER_RANK >>> 6;
+      int[] before = rowsBefore();
+      int lo = 0, hi = before.length - 1;
+      while ( lo < hi )
+      {
+        int mid = (lo + hi + 1) >>> 1;
+        if ( before[mid] <= index )
+          lo = mid;
+        else
+          hi = mid - 1;
+      }
+      int n = index - before[lo];
+      int w = lo * wordsPerRank;
+      long bits = getWord( w );
+      for ( int c = BitManipulation.countBits( bits ); n >= c;
+                                  c = BitManipulation.countBits( bits ) )
+      {
+        n -= c;
+        bits = getWord( ++w );
+      }
+      for ( ; n > 0; n--)
+        bits &= bits - 1;
+      return ((long)w << 6) + Long.numberOfTrailingZeros( bits );
+    }
+
+  /**
+    *   Returns the number of rows in the set before each block of
+    *   ROWS_PER_RANK rows.
+    */
+    protected int[] rowsBefore()
+    {
+      if ( rowsBefore == null )
+      {
+        int wordsPerRank = ROWS_PER_RANK >>> 6;
+        int[] before = new int[ (numWords + wordsPerRank - 1) / wordsPerRank ];
+        int n = 0;
+        for (int w=0; w<numWords; w++)
+        {
+          if ( w % wordsPerRank == 0 )
+            before[ w / wordsPerRank ] = n;
+          n += BitManipulation.countBits( getWord( w ) );
+        }
+        rowsBefore = before;
+      }
+      return rowsBefore;
+    }
+
+    public long[] toArray()
+    {
+      long[] rows = new long[ cardinality ];
+      int n = 0;
+      for (int w=0; w<numWords && n < rows.length; w++)
+        for (long bits = getWord( w ); bits != 0 && n < rows.length;
+                                                        bits &= bits - 1)
+          rows[ n++ ] = (w << 6) + Long.numberOfTrailingZeros( bits );
+      return rows;
+    }
+
+  }
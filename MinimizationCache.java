@@ -0,0 +1,455 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+//  Class MinimizationCache
+//  ------------------------------------------------------------------
+/**
+  *   Remembers minimized functions so that the same function does not
+  *   have to be minimized twice, even if it is written differently:
+  *   as another expression, or as minterms listed in another order.
+  *   A function is identified by a 128-bit hash of its packed truth
+  *   table, its number of variables and minterms, and the cover
+  *   method and node limit used, since they change the result.
+  *
+  *   The result is kept as primitive cubes, not ProductTerms, so a
+  *   table found in the cache gets prime implicants that use its own
+  *   variable names.  Two functions with the same truth table over
+  *   different names share an entry.
+  *
+  *   The cache holds at most a given number of cubes, counting each
+  *   prime implicant and each term of the cover, and evicts the least
+  *   recently used functions to stay under it.  It is divided into
+  *   stripes, each locked on its own, so threads minimizing different
+  *   functions seldom wait for one another.  The budget is shared: the
+  *   total is kept in an AtomicLong, and a put() that takes it over
+  *   the limit evicts from its own stripe first, then from the others,
+  *   one lock at a time.  A function bigger than the whole budget is
+  *   not kept.  Hits, misses, evictions, and refused functions are
+  *   counted.
+  *
+  *   To use a cache, give it to MinimizeOptions.setCache().
+  *
+  *   @version  1.0
+  */
+  public class MinimizationCache
+  {
+    public static final int   NUM_STRIPES  = 16;
+
+    protected final Stripe[]  stripes      = new Stripe[ NUM_STRIPES ];
+    protected final long      maxCubes;
+    protected final AtomicLong numCubes    = new AtomicLong();
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  maxCubes  The most prime implicants and cover terms to
+    *                     keep, over all the functions in the cache.
+    */
+    public MinimizationCache( long maxCubes )
+    {
+      if ( maxCubes < 1 )
+        throw new RuntimeException( "Invalid cache size: " + maxCubes );
+      this.maxCubes = maxCubes;
+      for (int s=0; s<NUM_STRIPES; s++)
+        stripes[s] = new Stripe();
+    }
+
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+  /**
+    *   The counts are summed over the stripes, each under its own lock,
+    *   so while other threads are using the cache they are only
+    *   approximate.
+    */
+    public long getMaxCubes()     { return maxCubes; }
+    public long getNumHits()      { return sum( 0 ); }
+    public long getNumMisses()    { return sum( 1 ); }
+    public long getNumEvictions() { return sum( 2 ); }
+    public long getNumEntries()   { return sum( 3 ); }
+    public long getNumRefused()   { return sum( 4 ); }
+    public long getNumCubes()     { return numCubes.get(); }
+
+    private long sum( int which )
+    {
+      long total = 0;
+      for ( Stripe stripe : stripes )
+      {
+        synchronized ( stripe )
+        {
+          switch ( which )
+          {
+            case 0:   total += stripe.numHits;      break;
+            case 1:   total += stripe.numMisses;    break;
+            case 2:   total += stripe.numEvictions; break;
+            case 3:   total += stripe.size();       break;
+            default:  total += stripe.numRefused;   break;
+          }
+        }
+      }
+      return total;
+    }
+
+
+  //  Class Key
+  //  ----------------------------------------------------------------
+  /**
+    *   Identifies a function and how it is to be minimized.
+    */
+    public static class Key
+    {
+      protected final long  hash1, hash2;
+      protected final int   numVars, numMinterms, coverMethod;
+      protected final long  nodeLimit;
+
+      protected Key( long hash1, long hash2, int numVars,
+                  int numMinterms, int coverMethod, long nodeLimit )
+      {
+        this.hash1        = hash1;
+        this.hash2        = hash2;
+        this.numVars      = numVars;
+        this.numMinterms  = numMinterms;
+        this.coverMethod  = coverMethod;
+        this.nodeLimit    = nodeLimit;
+      }
+
+      public boolean equals( Object x )
+      {
+        if ( ! (x instanceof Key) ) return false;
+        Key k = (Key)x;
+        return hash1 == k.hash1 && hash2 == k.hash2 &&
+               numVars == k.numVars && numMinterms == k.numMinterms &&
+               coverMethod == k.coverMethod && nodeLimit == k.nodeLimit;
+      }
+
+      public int hashCode()
+      {
+        return (int)hash1;
+      }
+    }
+
+
+  //  Class Entry
+  //  ----------------------------------------------------------------
+  /**
+    *   A minimized function: its prime implicants and the indexes of
+    *   the ones in the cover, in the order MinimizedTable keeps them,
+    *   and what it reported about the cover.
+    */
+    public static class Entry
+    {
+      protected final long[]  primeValues, primeMasks;
+      protected final int[]   cover;
+      protected final int     coreImplicants, coreMinterms;
+      protected final long    numSearchNodes;
+      protected final boolean provedMinimum;
+
+      public Entry( long[] primeValues, long[] primeMasks, int[] cover,
+                    int coreImplicants, int coreMinterms,
+                    long numSearchNodes, boolean provedMinimum )
+      {
+        this.primeValues    = primeValues;
+        this.primeMasks     = primeMasks;
+        this.cover          = cover;
+        this.coreImplicants = coreImplicants;
+        this.coreMinterms   = coreMinterms;
+        this.numSearchNodes = numSearchNodes;
+        this.provedMinimum  = provedMinimum;
+      }
+
+      public int  getNumPrimeImplicants() { return primeValues.length; }
+      public long getPrimeValue( int p )  { return primeValues[p];     }
+      public long getPrimeMask( int p )   { return primeMasks[p];      }
+      public int  getCoverSize()          { return cover.length;       }
+      public int  getCoverTerm( int c )   { return cover[c];           }
+      public int  getCoreImplicants()     { return coreImplicants;     }
+      public int  getCoreMinterms()       { return coreMinterms;       }
+      public long getNumSearchNodes()     { return numSearchNodes;     }
+      public boolean isProvedMinimum()    { return provedMinimum;      }
+
+      protected long getNumCubes()
+      {
+        return primeValues.length + cover.length;
+      }
+    }
+
+
+  //  Class Stripe
+  //  ----------------------------------------------------------------
+  /**
+    *   One lock's worth of the cache: a map in access order, so the
+    *   first entry is the least recently used one.
+    */
+    protected static class Stripe extends LinkedHashMap<Key, Entry>
+    {
+      static final long serialVersionUID = 1L;
+
+      protected long        numCubes      = 0;    //  In this stripe
+      protected long        numHits       = 0;
+      protected long        numMisses     = 0;
+      protected long        numEvictions  = 0;
+      protected long        numRefused    = 0;
+
+      protected Stripe()
+      {
+        super( 16, 0.75f, true );
+      }
+
+    /**
+      *   Evicts least recently used entries, but not keep, until the
+      *   cache as a whole is within its budget.  The caller holds the
+      *   lock on this stripe.
+      */
+      protected void evict( AtomicLong total, long maxCubes, Key keep )
+      {
+        Iterator<Map.Entry<Key, Entry>> lru = entrySet().iterator();
+        while ( total.get() > maxCubes && lru.hasNext() )
+        {
+          Map.Entry<Key, Entry> e = lru.next();
+          if ( e.getKey().equals( keep ) )
+            continue;
+          long n = e.getValue().getNumCubes();
+          lru.remove();
+          numCubes -= n;
+          total.addAndGet( -n );
+          numEvictions++;
+        }
+      }
+    }
+
+
+  //  Method keyFor()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the key for minimizing a truth table with the given
+    *   cover method and node limit.
+    *
+    *   The hash is MurmurHash3 (x64, 128-bit) of the nonzero 64-bit
+    *   words of the truth table, each block being a word's index and
+    *   the word itself.  Leaving out the zero words makes the hash the
+    *   same whether the minterms are kept as a bitset or as a list,
+    *   and makes it cost time in proportion to the number of minterms
+    *   for a list.
+    */
+    public static Key keyFor( TruthTable table, int coverMethod,
+                                                        long nodeLimit )
+    {
+      long[] h = { table.getNumVars(), table.getNumVars() };
+      int numBlocks = 0;
+      MintermSet set = table.mintermSet;
+      if ( set instanceof DenseMintermSet )
+      {
+        long[] words = ((DenseMintermSet)set).getWords();
+        for (int w=0; w<words.length; w++)
+          if ( words[w] != 0 )
+          {
+            mixBlock( h, w, words[w] );
+            numBlocks++;
+          }
+      }
+      else
+      {
+        long word = 0;
+        long w    = -1;
+        for (long r = set.nextSetBit( 0 ); r >= 0; r = set.nextSetBit( r+1 ))
+        {
+          if ( (r >>> 6) != w )
+          {
+            if ( word != 0 )
+            {
+              mixBlock( h, w, word );
+              numBlocks++;
+            }
+            w = r >>> 6;
+            word = 0;
+          }
+          word |= 1L << r;
+        }
+        if ( word != 0 )
+        {
+          mixBlock( h, w, word );
+          numBlocks++;
+        }
+      }
+      long h1 = h[0] ^ (16L * numBlocks);
+      long h2 = h[1] ^ (16L * numBlocks);
+      h1 += h2;
+      h2 += h1;
+      h1 = mix( h1 );
+      h2 = mix( h2 );
+      h1 += h2;
+      h2 += h1;
+      return new Key( h1, h2, table.getNumVars(), table.getNumMinterms(),
+                                                  coverMethod, nodeLimit );
+    }
+
+    private static void mixBlock( long[] h, long k1, long k2 )
+    {
+      final long c1 = 0x87c37b91114253d5L;
+      final long c2 = 0x4cf5ad432745937fL;
+      k1 *= c1;
+      k1 = Long.rotateLeft( k1, 31 );
+      k1 *= c2;
+      h[0] ^= k1;
+      h[0] = Long.rotateLeft( h[0], 27 ) + h[1];
+      h[0] = h[0] * 5 + 0x52dce729;
+      k2 *= c2;
+      k2 = Long.rotateLeft( k2, 33 );
+      k2 *= c1;
+      h[1] ^= k2;
+      h[1] = Long.rotateLeft( h[1], 31 ) + h[0];
+      h[1] = h[1] * 5 + 0x38495ab5;
+    }
+
+    private static long mix( long k )
+    {
+      k ^= k >>> 33;
+      k *= 0xff51afd7ed558ccdL;
+      k ^= k >>> 33;
+      k *= 0xc4ceb9fe1a85ec53L;
+      k ^= k >>> 33;
+      return k;
+    }
+
+
+  //  Method get()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the entry for key, making it the most recently used,
+    *   or null if it is not in the cache.
+    */
+    public Entry get( Key key )
+    {
+      Stripe stripe = stripeFor( key );
+      synchronized ( stripe )
+      {
+        Entry entry = stripe.get( key );
+        if ( entry == null )
+          stripe.numMisses++;
+        else
+          stripe.numHits++;
+        return entry;
+      }
+    }
+
+
+  //  Method put()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds an entry, evicting the least recently used ones in its
+    *   stripe, and then if need be in the other stripes, until the
+    *   cache is back under its budget.  An entry bigger than the whole
+    *   budget is not kept, and is counted as refused.
+    */
+    public void put( Key key, Entry entry )
+    {
+      Stripe stripe = stripeFor( key );
+      synchronized ( stripe )
+      {
+        if ( entry.getNumCubes() > maxCubes )
+        {
+          stripe.numRefused++;
+          return;
+        }
+        long delta = entry.getNumCubes();
+        Entry old = stripe.put( key, entry );
+        if ( old != null )
+          delta -= old.getNumCubes();
+        stripe.numCubes += delta;
+        numCubes.addAndGet( delta );
+        stripe.evict( numCubes, maxCubes, key );
+      }
+      //  Only one lock is held at a time, so two puts evicting from
+      //  each other's stripes cannot deadlock.
+      for (int s=0; s<NUM_STRIPES && numCubes.get() > maxCubes; s++)
+      {
+        if ( stripes[s] == stripe )
+          continue;
+        synchronized ( stripes[s] )
+        {
+          stripes[s].evict( numCubes, maxCubes, null );
+        }
+      }
+    }
+
+
+  //  Method clear()
+  //  ----------------------------------------------------------------
+  /**
+    *   Removes all the entries.  The counts are kept.
+    */
+    public void clear()
+    {
+      for ( Stripe stripe : stripes )
+      {
+        synchronized ( stripe )
+        {
+          stripe.clear();
+          numCubes.addAndGet( -stripe.numCubes );
+          stripe.numCubes = 0;
+        }
+      }
+    }
+
+
+  //  Method stripeFor()
+  //  ----------------------------------------------------------------
+    protected Stripe stripeFor( Key key )
+    {
+      return stripes[ (int)(key.hash2 >>> 32) & (NUM_STRIPES - 1) ];
+    }
+
+
+  //  Method toString()
+  //  ----------------------------------------------------------------
+    public String toString()
+    {
+      return getNumHits() + " hits, " + getNumMisses() + " misses, " +
+             getNumEvictions() + " evictions, " + getNumRefused() +
+             " refused, " + getNumEntries() + " entries, " +
+             getNumCubes() + " of " + maxCubes + " cubes";
+    }
+
+  }
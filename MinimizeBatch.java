@@ -0,0 +1,369 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//  Class MinimizeBatch
+//  ------------------------------------------------------------------
+/**
+  *   Minimizes many functions in one run, on a pool of worker threads.
+  *   Each line of input is a boolean expression or a list of minterm
+  *   numbers separated by spaces or commas, as in the Minimize window;
+  *   blank lines and lines starting with # are skipped.  For each
+  *   function one line is written, in input order: the minimized
+  *   expression, or "Error: " and the reason the function could not be
+  *   minimized.  At most a few jobs per thread are read ahead, so the
+  *   input can be as long as you like.
+  *
+  *   After the last function, the number of jobs, the throughput, and
+  *   percentiles of the time taken by each job are available from
+  *   printSummary().  If the options have a MinimizationCache, a
+  *   function that was already minimized is not minimized again, and
+  *   the summary includes the cache's counts.
+  *
+  *   @version  1.0
+  */
+  public class MinimizeBatch
+  {
+    /** Jobs read ahead per worker thread.                         */
+    public static final int JOBS_PER_THREAD  = 4;
+
+    protected MinimizeOptions options;
+    protected int             numThreads;
+
+    protected int             numJobs     = 0;
+    protected int             numErrors   = 0;
+    protected long[]          latencies   = new long[ 1024 ]; // nanoseconds
+    protected long            elapsed     = 0;                // nanoseconds
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  options     How to minimize each function.  The trace
+    *                       stream and listener should be null.
+    *   @param  numThreads  Number of worker threads.
+    */
+    public MinimizeBatch( MinimizeOptions options, int numThreads )
+    {
+      if ( numThreads < 1 )
+        throw new RuntimeException( "Invalid number of threads: " +
+                                                            numThreads );
+      this.options    = options;
+      this.numThreads = numThreads;
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int  getNumJobs()    { return numJobs;   }
+    public int  getNumErrors()  { return numErrors; }
+
+
+  //  Class Job
+  //  ----------------------------------------------------------------
+  /**
+    *   Minimizes the function on one line of input.
+    */
+    protected class Job implements Callable<String>
+    {
+      protected String  line;
+      protected long    nanos = 0;
+      protected boolean failed = false;
+
+      protected Job( String line )
+      {
+        this.line = line;
+      }
+
+      public String call()
+      {
+        long start = System.nanoTime();
+        try
+        {
+          return minimize( line, options ).toString();
+        }
+        catch ( RuntimeException e )
+        {
+          failed = true;
+          return errorLine( e.getMessage() );
+        }
+        finally
+        {
+          nanos = System.nanoTime() - start;
+        }
+      }
+    }
+
+
+  //  Method minimize()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the minimized table for one line of input: a boolean
+    *   expression, or minterm numbers separated by spaces or commas.
+    *   A minterm listed more than once is an error.
+    */
+    public static MinimizedTable minimize( String line,
+                                              MinimizeOptions options )
+    {
+      StringTokenizer st = new StringTokenizer( line, ", \t" );
+      long[] termList = new long[ st.countTokens() ];
+      int    i = 0;
+      try
+      {
+        while ( st.hasMoreTokens() )
+          termList[i++] = Long.parseLong( st.nextToken() );
+      }
+      catch ( NumberFormatException nfe )
+      {
+        return new MinimizedTable( line, options );
+      }
+      //  Reject duplicates, as MinimizedTable.main() does.
+      HashSet<Long> seen = new HashSet<Long>();
+      for (i=0; i<termList.length; i++)
+        if ( ! seen.add( termList[i] ) )
+          throw new RuntimeException( termList[i] +
+                                          " is a duplicate minterm." );
+      return new MinimizedTable( termList, options );
+    }
+
+
+  //  Method errorLine()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the output line for a function that could not be
+    *   minimized: "Error: " and the first line of the message, so that
+    *   each function still gets exactly one line.  Some messages, such
+    *   as the syntax help for an invalid expression, run to several.
+    */
+    protected static String errorLine( String message )
+    {
+      if ( message == null )
+        return "Error: unknown";
+      int end = message.indexOf( '\n' );
+      if ( end >= 0 )
+        message = message.substring( 0, end );
+      if ( message.endsWith( "\r" ) )
+        message = message.substring( 0, message.length() - 1 );
+      return "Error: " + message;
+    }
+
+
+  //  Method run()
+  //  ----------------------------------------------------------------
+  /**
+    *   Minimizes every function read from in, writing the results to
+    *   out in input order as soon as each one and all the ones before
+    *   it are done.
+    */
+    public void run( BufferedReader in, PrintStream out )
+                                throws IOException, InterruptedException
+    {
+      long start = System.nanoTime();
+      ExecutorService pool = Executors.newFixedThreadPool( numThreads );
+      ArrayDeque<Job>         jobs    = new ArrayDeque<Job>();
+      ArrayDeque<Future<String>> results = new ArrayDeque<Future<String>>();
+      try
+      {
+        String line;
+        while ( (line = in.readLine()) != null )
+        {
+          line = line.trim();
+          if ( line.length() == 0 || line.startsWith( "#" ) )
+            continue;
+          Job job = new Job( line );
+          jobs.add( job );
+          results.add( pool.submit( job ) );
+          if ( jobs.size() >= JOBS_PER_THREAD * numThreads )
+            finishJob( jobs.remove(), results.remove(), out );
+        }
+        while ( ! jobs.isEmpty() )
+          finishJob( jobs.remove(), results.remove(), out );
+      }
+      finally
+      {
+        pool.shutdownNow();
+      }
+      elapsed += System.nanoTime() - start;
+    }
+
+
+  //  Method finishJob()
+  //  ----------------------------------------------------------------
+  /**
+    *   Waits for a job, writes its result, and records its time.
+    */
+    private void finishJob( Job job, Future<String> result,
+                      PrintStream out ) throws InterruptedException
+    {
+      String s;
+      try
+      {
+        s = result.get();
+      }
+      catch ( ExecutionException e )
+      {
+        //  Not a RuntimeException, such as running out of memory.
+        job.failed = true;
+        s = errorLine( String.valueOf( e.getCause() ) );
+      }
+      out.println( s );
+      if ( job.failed )
+        numErrors++;
+      if ( numJobs == latencies.length )
+        latencies = Arrays.copyOf( latencies, 2 * numJobs );
+      latencies[ numJobs++ ] = job.nanos;
+    }
+
+
+  //  Method percentile()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the time, in nanoseconds, within which p percent of the
+    *   jobs finished (nearest rank), or 0 if there were no jobs.
+    */
+    public long percentile( double p )
+    {
+      if ( numJobs == 0 )
+        return 0;
+      long[] sorted = Arrays.copyOf( latencies, numJobs );
+      Arrays.sort( sorted );
+      int rank = (int)Math.ceil( p / 100.0 * numJobs );
+      return sorted[ Math.min( Math.max( rank, 1 ), numJobs ) - 1 ];
+    }
+
+
+  //  Method printSummary()
+  //  ----------------------------------------------------------------
+  /**
+    *   Prints the number of jobs, throughput, and job time percentiles.
+    */
+    public void printSummary( PrintStream out )
+    {
+      double seconds = elapsed / 1e9;
+      out.println( numJobs + " function" + (numJobs!=1?"s":"") + ", " +
+                  numErrors + " error" + (numErrors!=1?"s":"") + ", " +
+                  numThreads + " thread" + (numThreads!=1?"s":"") );
+      out.printf( "Elapsed:    %.3f s, %.1f functions/s%n", seconds,
+                                  seconds > 0 ? numJobs / seconds : 0.0 );
+      out.printf( "Job time:   p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, " +
+                  "max %.3f ms%n", percentile( 50 ) / 1e6,
+                  percentile( 90 ) / 1e6, percentile( 99 ) / 1e6,
+                  percentile( 100 ) / 1e6 );
+      if ( options.getCache() != null )
+        out.println( "Cache:      " + options.getCache() );
+    }
+
+
+  //  Method main()
+  //  ----------------------------------------------------------------
+  /**
+    *   java MinimizeBatch [-t threads] [-c cubes] [-x|-e] [file]
+    *
+    *   Reads functions from file, or from standard input if there is
+    *   no file or it is -, and writes the minimized expressions to
+    *   standard output.  The summary goes to standard error.  With
+    *   -c, functions are looked up in a MinimizationCache that holds
+    *   up to the given number of cubes.
+    */
+    public static void main( String[] args )
+    {
+      MinimizeOptions options = new MinimizeOptions();
+      int numThreads = Runtime.getRuntime().availableProcessors();
+      try
+      {
+        while ( args.length > 0 && args[0].startsWith( "-" ) &&
+                                            ! args[0].equals( "-" ) )
+        {
+          if ( args[0].equals( "-t" ) && args.length > 1 )
+          {
+            numThreads = Integer.parseInt( args[1] );
+            args = Arrays.copyOfRange( args, 1, args.length );
+          }
+          else if ( args[0].equals( "-c" ) && args.length > 1 )
+          {
+            options.setCache(
+                    new MinimizationCache( Long.parseLong( args[1] ) ) );
+            args = Arrays.copyOfRange( args, 1, args.length );
+          }
+          else if ( args[0].equals( "-x" ) )
+            options.setCoverMethod( MinimizedTable.EXACT_COVER );
+          else if ( args[0].equals( "-e" ) )
+            options.setCoverMethod( MinimizedTable.ESPRESSO );
+          else
+            throw new RuntimeException( "Unknown option: " + args[0] );
+          args = Arrays.copyOfRange( args, 1, args.length );
+        }
+        if ( args.length > 1 )
+          throw new RuntimeException( "Only one input file is allowed." );
+
+        BufferedReader in = new BufferedReader(
+            ( args.length == 0 || args[0].equals( "-" ) ) ?
+                        new InputStreamReader( System.in ) :
+                        new FileReader( args[0] ) );
+        MinimizeBatch batch = new MinimizeBatch( options, numThreads );
+        batch.run( in, System.out );
+        in.close();
+        System.out.flush();
+        batch.printSummary( System.err );
+      }
+      catch ( Exception e )
+      {
+        System.err.println( "Error: " + e.getMessage() );
+        System.err.println(
+          "Usage: java MinimizeBatch [-t threads] [-c cubes] [-x|-e] " +
+                                                            "[file]" );
+        System.exit( 1 );
+      }
+      System.exit( 0 );
+    }
+
+  }
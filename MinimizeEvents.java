@@ -0,0 +1,184 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//  Class MinimizeEvents
+//  ------------------------------------------------------------------
+/**
+  *   Java Flight Recorder events for the phases of building and
+  *   minimizing a truth table, so a slow minimization can be lined up
+  *   with the garbage collections and CPU samples in the same
+  *   recording.  They appear under "Boolean Minimize":
+  *
+  *     TruthTable      Constructing a TruthTable.
+  *     Pass            One pass of PrimeImplicantFinder.
+  *     PrimeImplicants All the passes, and creating and sorting the
+  *                     PrimeImplicant objects.
+  *     Cover           Choosing the cover from the chart: essentials,
+  *                     dominance, and the greedy or exact cover.
+  *     Espresso        Finding a cover with ESPRESSO instead.
+  *     Minimize        All of the above after the truth table.
+  *
+  *   Each event is created, begun, and committed in the thread doing
+  *   the work.  Its fields are set only if shouldCommit() says the
+  *   event is enabled and over its threshold, so when nothing is
+  *   being recorded an event costs little more than the allocation,
+  *   which the JIT can usually remove.  For example,
+  *
+  *     -XX:StartFlightRecording:filename=run.jfr,settings=profile
+  *
+  *   records them, since custom events are enabled by default.
+  *
+  *   @version  1.0
+  */
+  public class MinimizeEvents
+  {
+    public static final String CATEGORY = "Boolean Minimize";
+
+    private MinimizeEvents()
+    {
+    }
+
+
+  //  Class TruthTableEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.TruthTable" )
+    @Label( "Truth Table" )
+    @Description( "Evaluating an expression or loading the minterms" )
+    @Category( CATEGORY )
+    @StackTrace( false )
+    public static class TruthTableEvent extends Event
+    {
+      @Label( "Variables" )   public int numVars;
+      @Label( "Minterms" )    public int numMinterms;
+    }
+
+
+  //  Class PassEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.Pass" )
+    @Label( "Reduction Pass" )
+    @Description( "One pass of combining terms into larger ones" )
+    @Category( CATEGORY )
+    @StackTrace( false )
+    public static class PassEvent extends Event
+    {
+      @Label( "Variables" )   public int  numVars;
+      @Label( "Level" )       public int  level;
+      @Label( "Terms In" )    public int  termsIn;
+      @Label( "Terms Out" )   public int  termsOut;
+      @Label( "Compared" )    public long compared;
+      @Label( "Merged" )      public long merged;
+    }
+
+
+  //  Class PrimeImplicantsEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.PrimeImplicants" )
+    @Label( "Prime Implicants" )
+    @Description( "Finding and sorting all the prime implicants" )
+    @Category( CATEGORY )
+    @StackTrace( false )
+    public static class PrimeImplicantsEvent extends Event
+    {
+      @Label( "Variables" )         public int numVars;
+      @Label( "Minterms" )          public int numMinterms;
+      @Label( "Passes" )            public int numPasses;
+      @Label( "Prime Implicants" )  public int numPrimeImplicants;
+    }
+
+
+  //  Class CoverEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.Cover" )
+    @Label( "Cover" )
+    @Description( "Choosing prime implicants to cover the minterms" )
+    @Category( CATEGORY )
+    @StackTrace( false )
+    public static class CoverEvent extends Event
+    {
+      @Label( "Variables" )         public int  numVars;
+      @Label( "Minterms" )          public int  numMinterms;
+      @Label( "Cover Method" )      public int  coverMethod;
+      @Label( "Prime Implicants" )  public int  numPrimeImplicants;
+      @Label( "Core Implicants" )   public int  coreImplicants;
+      @Label( "Core Minterms" )     public int  coreMinterms;
+      @Label( "Cover Size" )        public int  coverSize;
+      @Label( "Search Nodes" )      public long numSearchNodes;
+    }
+
+
+  //  Class EspressoEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.Espresso" )
+    @Label( "Espresso" )
+    @Description( "Finding a cover without all the prime implicants" )
+    @Category( CATEGORY )
+    @StackTrace( false )
+    public static class EspressoEvent extends Event
+    {
+      @Label( "Variables" )   public int numVars;
+      @Label( "Minterms" )    public int numMinterms;
+      @Label( "Cover Size" )  public int coverSize;
+    }
+
+
+  //  Class MinimizeEvent
+  //  ----------------------------------------------------------------
+    @Name( "boolean_minimize.Minimize" )
+    @Label( "Minimize" )
+    @Description( "Minimizing a truth table, all phases" )
+    @Category( CATEGORY )
+    public static class MinimizeEvent extends Event
+    {
+      @Label( "Variables" )         public int numVars;
+      @Label( "Minterms" )          public int numMinterms;
+      @Label( "Cover Method" )      public int coverMethod;
+      @Label( "Prime Implicants" )  public int numPrimeImplicants;
+      @Label( "Cover Size" )        public int coverSize;
+    }
+
+  }
@@ -0,0 +1,166 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.EventListener;
+
+//  Interface MinimizeListener
+//  ------------------------------------------------------------------
+/**
+  *   Receives the steps of a minimization as they happen.  Product
+  *   terms are passed as a value and a mask, as in ProductTerm, and
+  *   minterms as row numbers, so nothing is allocated to report an
+  *   event; a listener that wants text builds it (see TracePrinter).
+  *   The prime implicant finder, Espresso, and MinimizedTable check
+  *   for a listener before anything else, so with none there is no
+  *   cost beyond the check.
+  *
+  *   Events come from the thread doing the minimization.  A listener
+  *   shared by tables that are minimized at the same time has to be
+  *   thread-safe itself, and will get their events interleaved.
+  *
+  *   @version  1.0
+  */
+  public interface MinimizeListener extends EventListener
+  {
+    /** Phases passed to phaseStarted().                            */
+    public static final int FIND_PRIME_IMPLICANTS = 0;
+    public static final int SELECT_COVER          = 1;
+    public static final int ESPRESSO              = 2;
+
+  /**
+    *   A phase of the minimization is starting.
+    */
+    public void phaseStarted( int phase );
+
+  //  Finding prime implicants
+  //  ----------------------------------------------------------------
+  /**
+    *   Two terms with the same mask that differ in one variable were
+    *   combined.
+    *
+    *   @param  alreadyIncluded True if the combined term had already
+    *                           been made from another pair.
+    */
+    public void termReduced( int pass, long value1, long value2, long mask,
+                             long reducedValue, long reducedMask,
+                             boolean alreadyIncluded );
+
+  /**
+    *   A combined term has no literals: the function is always 1.
+    */
+    public void reducedToIdentity();
+
+  /**
+    *   A term combined with no other term in this pass, so it is a
+    *   prime implicant.
+    */
+    public void termNotReduced( int pass, long value, long mask );
+
+  //  Selecting a cover
+  //  ----------------------------------------------------------------
+  /**
+    *   The number of prime implicants that cover a minterm, reported
+    *   once for each minterm before selection starts.
+    */
+    public void mintermCoverCount( long minterm, int numCovers );
+
+  /**
+    *   Covering or dropping minterms has left this many to cover.
+    */
+    public void mintermsRemaining( int numRemaining );
+
+  /**
+    *   A prime implicant is the only one left that covers a minterm.
+    *
+    *   @param  coverRows The minterms the prime implicant covers; see
+    *                     PrimeImplicant.getCoverRows().
+    */
+    public void essentialChosen( long value, long mask, long[] coverRows,
+                                                          long minterm );
+
+  /**
+    *   A prime implicant was dropped because another one covers every
+    *   uncovered minterm it covers, and more (or the same ones, for
+    *   no more literals, for an exact cover).
+    */
+    public void implicantDominated( long value, long mask, long[] coverRows,
+                        long byValue, long byMask, long[] byCoverRows );
+
+  /**
+    *   A minterm was dropped because covering another minterm will
+    *   cover it too.
+    */
+    public void mintermDominated( long minterm, long byMinterm );
+
+  /**
+    *   Essentials and dominance have done all they can.  The chart
+    *   left has this many prime implicants and minterms.
+    */
+    public void cyclicCore( int numImplicants, int numMinterms );
+
+  /**
+    *   The greedy cover chose a prime implicant that covers the
+    *   least-covered minterm.
+    */
+    public void greedyChosen( long value, long mask, long[] coverRows,
+                                                          long minterm );
+
+  /**
+    *   The exact cover search has finished.
+    *
+    *   @param  proved  False if the node limit stopped the search.
+    */
+    public void exactCoverFound( int numMinterms, int numChosen,
+                        int numImplicants, long numNodes, boolean proved );
+
+  /**
+    *   A prime implicant is in the exact cover.
+    */
+    public void exactChosen( long value, long mask, long[] coverRows );
+
+  //  Espresso
+  //  ----------------------------------------------------------------
+  /**
+    *   Espresso finished a pass.  Pass 0 is the first EXPAND and
+    *   IRREDUNDANT.
+    */
+    public void espressoPass( int pass, int numCubes, int numLiterals );
+
+  }
@@ -0,0 +1,147 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+
+//  Class MinimizeOptions
+//  ------------------------------------------------------------------
+/**
+  *   How a MinimizedTable is to be minimized: where the trace goes, the
+  *   cover method, the executor for finding prime implicants, and the
+  *   node limit for EXACT_COVER, and a cache of minimized functions.
+  *   The defaults are no trace, a greedy cover, no executor,
+  *   MinimizedTable.DEFAULT_NODE_LIMIT, and no cache.
+  *
+  *   The trace can go to a PrintStream, as text, or to a
+  *   MinimizeListener, as events.  If there is a listener the
+  *   PrintStream is not used.
+  *
+  *   A MinimizedTable copies these values when it is constructed and
+  *   keeps no other state outside itself, so any number of tables can
+  *   be minimized at once in different threads.  One options object
+  *   can be shared by all of them as long as no thread changes it
+  *   while a table is being constructed from it.  Tables that trace
+  *   to the same PrintStream or listener will have their steps
+  *   interleaved; give each one its own to keep the traces apart.  A
+  *   PrintStream gets a new TracePrinter for each table.
+  *
+  *   The cache is not copied: all the tables made with these options
+  *   share it, which is the point.  It is not used while there is a
+  *   trace, since a table found in it has no steps to show.
+  *
+  *   @version  1.0
+  */
+  public class MinimizeOptions
+  {
+    protected PrintStream     out         = null;
+    protected MinimizeListener listener   = null;
+    protected int             coverMethod = MinimizedTable.GREEDY_COVER;
+    protected ExecutorService executor    = null;
+    protected long            nodeLimit   =
+                                    MinimizedTable.DEFAULT_NODE_LIMIT;
+    protected MinimizationCache cache     = null;
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates options with the default values.
+    */
+    public MinimizeOptions()
+    {
+    }
+
+  /**
+    *   @param  out         PrintStream to receive the trace, or null
+    *                       for none.
+    *   @param  coverMethod GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+    *   @param  executor    Runs the parallel passes of prime implicant
+    *                       generation, or null; see
+    *                       PrimeImplicantFinder.
+    */
+    public MinimizeOptions( PrintStream out, int coverMethod,
+                                              ExecutorService executor )
+    {
+      setOut( out );
+      setCoverMethod( coverMethod );
+      setExecutor( executor );
+    }
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public PrintStream      getOut()          { return out;         }
+    public MinimizeListener getListener()     { return listener;    }
+    public int              getCoverMethod()  { return coverMethod; }
+    public ExecutorService  getExecutor()     { return executor;    }
+    public long             getNodeLimit()    { return nodeLimit;   }
+    public MinimizationCache getCache()       { return cache;       }
+
+    public void setOut( PrintStream out )     { this.out = out;     }
+    public void setListener( MinimizeListener listener )
+    {
+      this.listener = listener;
+    }
+    public void setExecutor( ExecutorService executor )
+    {
+      this.executor = executor;
+    }
+    public void setCache( MinimizationCache cache )
+    {
+      this.cache = cache;
+    }
+
+    public void setCoverMethod( int coverMethod )
+    {
+      if ( coverMethod != MinimizedTable.GREEDY_COVER &&
+           coverMethod != MinimizedTable.EXACT_COVER &&
+           coverMethod != MinimizedTable.ESPRESSO )
+        throw new RuntimeException( "Invalid cover method: " +
+                                                          coverMethod );
+      this.coverMethod = coverMethod;
+    }
+
+    public void setNodeLimit( long nodeLimit )
+    {
+      if ( nodeLimit < 1 )
+        throw new RuntimeException( "Invalid node limit: " + nodeLimit );
+      this.nodeLimit = nodeLimit;
+    }
+
+  }
@@ -0,0 +1,176 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+//  Class MinimizeStatistics
+//  ------------------------------------------------------------------
+/**
+  *   Where the time went in minimizing one MinimizedTable, and how
+  *   much work each phase did.  Times are in nanoseconds:
+  *
+  *     truth table     Building the TruthTable: evaluating the
+  *                     expression or sorting the minterms.
+  *     passes          Finding the prime implicants, all passes.
+  *     materialize     Creating the PrimeImplicant objects, sorting
+  *                     them, and indexing the chart.
+  *     essentials      Taking essential prime implicants.
+  *     dominance       Removing dominated rows and columns.
+  *     cover           Choosing among what is left: the greedy or
+  *                     exact cover, or all of ESPRESSO.
+  *
+  *   For each pass of prime implicant generation there are the number
+  *   of terms it started with and the number of comparisons of terms
+  *   that were made and that merged; see PrimeImplicantFinder.
+  *   Allocated bytes are those of the
+  *   thread that constructed the table, or -1 if the JVM does not
+  *   count them; parallel passes allocate in other threads too.
+  *
+  *   If the table was found in a MinimizationCache, isFromCache() is
+  *   true, the times after the truth table are zero, and there are no
+  *   passes; the counts are those of the cached function.
+  *
+  *   The values are filled in by MinimizedTable as it runs and do not
+  *   change afterwards.
+  *
+  *   @version  1.0
+  */
+  public class MinimizeStatistics
+  {
+    protected long    truthTableNanos   = 0;
+    protected long    passesNanos       = 0;
+    protected long    materializeNanos  = 0;
+    protected long    essentialsNanos   = 0;
+    protected long    dominanceNanos    = 0;
+    protected long    coverNanos        = 0;
+    protected long    totalNanos        = 0;
+    protected int[]   termsPerPass      = new int[ 0 ];
+    protected long[]  comparedPerPass   = new long[ 0 ];
+    protected long[]  mergedPerPass     = new long[ 0 ];
+    protected int     numPrimeImplicants = 0;
+    protected int     coreImplicants    = 0;
+    protected int     coreMinterms      = 0;
+    protected int     coverSize         = 0;
+    protected long    numSearchNodes    = 0;
+    protected long    allocatedBytes    = -1;
+    protected boolean fromCache         = false;
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public long   getTruthTableNanos()  { return truthTableNanos;  }
+    public long   getPassesNanos()      { return passesNanos;      }
+    public long   getMaterializeNanos() { return materializeNanos; }
+    public long   getEssentialsNanos()  { return essentialsNanos;  }
+    public long   getDominanceNanos()   { return dominanceNanos;   }
+    public long   getCoverNanos()       { return coverNanos;       }
+    public long   getTotalNanos()       { return totalNanos;       }
+    public int    getNumPasses()        { return termsPerPass.length; }
+    public int[]  getTermsPerPass()     { return termsPerPass.clone();    }
+    public long[] getComparedPerPass()  { return comparedPerPass.clone(); }
+    public long[] getMergedPerPass()    { return mergedPerPass.clone();   }
+    public int    getNumPrimeImplicants() { return numPrimeImplicants; }
+    public int    getCyclicCoreImplicants() { return coreImplicants;  }
+    public int    getCyclicCoreMinterms()   { return coreMinterms;    }
+    public int    getCoverSize()        { return coverSize;        }
+    public long   getNumSearchNodes()   { return numSearchNodes;   }
+    public long   getAllocatedBytes()   { return allocatedBytes;   }
+    public boolean isFromCache()        { return fromCache;        }
+
+
+  //  Method threadAllocatedBytes()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of bytes the current thread has allocated so
+    *   far, or -1 if the JVM cannot say.
+    */
+    public static long threadAllocatedBytes()
+    {
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if ( threads instanceof com.sun.management.ThreadMXBean )
+        return ((com.sun.management.ThreadMXBean)threads)
+                                      .getCurrentThreadAllocatedBytes();
+      return -1;
+    }
+
+
+  //  Method toString()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the statistics as a table, one line per phase and then
+    *   one line per pass, with times in milliseconds.
+    */
+    public String toString()
+    {
+      StringBuffer sb = new StringBuffer();
+      if ( fromCache )
+        sb.append( String.format( "found in cache%n" ) );
+      sb.append( phase( "truth table", truthTableNanos ) );
+      sb.append( phase( "passes", passesNanos ) );
+      sb.append( phase( "materialize", materializeNanos ) );
+      sb.append( phase( "essentials", essentialsNanos ) );
+      sb.append( phase( "dominance", dominanceNanos ) );
+      sb.append( phase( "cover", coverNanos ) );
+      sb.append( phase( "total", totalNanos ) );
+      sb.append( String.format( "%-14s%12s%14s%14s%n",
+                                "pass", "terms", "compared", "merged" ) );
+      for (int p=0; p<termsPerPass.length; p++)
+        sb.append( String.format( "%-14d%12d%14d%14d%n", p + 1,
+                termsPerPass[p], comparedPerPass[p], mergedPerPass[p] ) );
+      sb.append( String.format( "%-14s%12d%n", "primes",
+                                                  numPrimeImplicants ) );
+      sb.append( String.format( "%-14s%12s%n", "cyclic core",
+                              coreImplicants + " x " + coreMinterms ) );
+      sb.append( String.format( "%-14s%12d%n", "cover", coverSize ) );
+      if ( numSearchNodes > 0 )
+        sb.append( String.format( "%-14s%12d%n", "search nodes",
+                                                      numSearchNodes ) );
+      if ( allocatedBytes >= 0 )
+        sb.append( String.format( "%-14s%12d%n", "allocated",
+                                                      allocatedBytes ) );
+      return new String( sb );
+    }
+
+    private static String phase( String name, long nanos )
+    {
+      return String.format( "%-14s%12.3f ms%n", name, nanos / 1e6 );
+    }
+
+  }
@@ -1,654 +1,1234 @@
-//$Id: MinimizedTable.java,v 1.3 2005/02/21 23:32:15 vickery Exp $
-/*
- *  Author:     C. Vickery
- *
- *  Copyright (c) 2000-2005, Queens College of the City University
- *  of New York.  All rights reserved.
- * 
- *  Redistribution and use in source and binary forms, with or
- *  without modification, are permitted provided that the
- *  following conditions are met:
- *
- *      * Redistributions of source code must retain the above
- *        copyright notice, this list of conditions and the
- *        following disclaimer.
- * 
- *      * Redistributions in binary form must reproduce the
- *        above copyright notice, this list of conditions and
- *        the following disclaimer in the documentation and/or
- *        other materials provided with the distribution.  
- * 
- *      * Neither the name of Queens College of CUNY
- *        nor the names of its contributors may be used to
- *        endorse or promote products derived from this
- *        software without specific prior written permission.
- *
- *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
- *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
- *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
- *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
- *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
- *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
- *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
- *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
- *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
- *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
- *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
- *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
- *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
- *  POSSIBILITY OF SUCH DAMAGE.
- *
- *  $Log: MinimizedTable.java,v $
- *  Revision 1.3  2005/02/21 23:32:15  vickery
- *  Completed GUI.  Don't know how to scroll
- *  within a table cell, and list of covers can
- *  be too long to see sometimes.
- *
- *  Revision 1.2  2005/02/21 04:19:00  vickery
- *  Continuing GUI development.
- *  Fixed TruthTable to give variable names in alphabetic order, and to sort
- *  minterm numbers.
- *
- *  Revision 1.1  2005/02/20 04:24:00  vickery
- *  Started developing GUI.
- *
- *  Revision 1.1  2005/02/12 16:51:22  vickery
- *  Revised to use generics for various Vectors and Enumerations.
- *
- *
- */
-
-import java.io.PrintStream;
-import java.io.OutputStream;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Enumeration;
-import java.util.Vector;
-
-//  Class MinimizedTable
-//  -------------------------------------------------------------------
-/**
-  *   Generates minimized sum of products representation of a truth
-  *   table.
-  *
-  *   @version  1.1 - Fall, 2000
-  *   @author   C. Vickery
-  */
-  public class MinimizedTable extends TruthTable
-  {
-    static final long serialVersionUID = 6365229939599366603L;
-    static boolean is_silent = false;
-
-    static PrintStream out = System.out;
-
-/** Maximum number of passes needed to find prime implicants.   */
-    protected final int     numLevels       = numVars + 1;
-
-    /** Housekeeping array of vectors for partially-reduced product
-        terms                                                       */
-    protected Vector<ProductTerm>[] levelTerms
-                                            = new Vector[ numLevels ];
-
-    /** The prime implicants for this truth table.                  */
-    protected Vector<PrimeImplicant>  primeImplicants;
-
-    Vector<ProductTerm> minimum; // Only one minimization for now.
-
-  //  Accessors
-  //  ----------------------------------------------------------------
-  /*
-   *  These are to support the Table Model interface.  I've repeated
-   *  some that would be inherited from TruthTable, for clarity.
-   */
-    public int      getRowCount() { return primeImplicants.size(); }
-    public int      getColumnCount()  { return 2; }
-    public boolean  isCellEditable(int row, int col) { return false; }
-    public String   getColumnName(int col)
-    {
-      switch (col)
-      {
-        case 0:
-            return "Prime Implicant";
-        case 1:
-            return "Implied Terms";
-        default:
-          throw new RuntimeException("Program Error: Bad switch");
-      }
-    }
-    public Object   getValueAt(int row, int col)
-    {
-      switch (col)
-      {
-        case 0:
-            return primeImplicants.elementAt(row).getImplicantString();
-        case 1:
-            return primeImplicants.elementAt(row).getCovers();
-        default:
-          throw new RuntimeException("Program Error: Bad switch");
-      }
-    }
-
-
-  //  Constructors
-  //  ================================================================
-  //  ----------------------------------------------------------------
-  /**
-    *   Creates a minimized sum of products function equivalent to the
-    *   list of minterms provided by class TruthTable.
-    *
-    *   Algorithm:
-    *   1.  Initialize the truth table, and create a list of all prime
-    *       implicants for the truth table.
-    *   2.  Select minimal sets of prime implicants that will cover
-    *       all minterms.
-    *
-    *   @param  s   A text string representing the boolean function to
-    *               be minimized.
-    */
-    public MinimizedTable( String s )
-    {
-      super( s );
-      minimizeIt();
-    }
-    //  --------------------------------------------------------------
-    public MinimizedTable( String s, PrintStream ps )
-    {
-      super( s );
-      out = ps;
-      minimizeIt();
-    }
-
-    //  --------------------------------------------------------------
-    /**
-      *
-      *   @param  m   Array of minterm numbers.
-      */
-      public MinimizedTable( int[] m )
-      {
-        super( m );
-        minimizeIt();
-      }
-    //  --------------------------------------------------------------
-    /**
-      *
-      *   @param  m   Array of minterm numbers.
-      *   @param  ps  PrintStream to receive output.
-      */
-      public MinimizedTable( int[] m, PrintStream ps )
-      {
-        super( m );
-        out = ps;
-        minimizeIt();
-      }
-
-  //  Method minimizeIt()
-  //  ----------------------------------------------------------------
-  /**
-    *   Minimizes a truth table by first determining all prime
-    *   implicants and then selecting minimal sets of prime implicants
-    *   that cover all minterms using the Quine-McCluskey "chart"
-    *   method.
-    */
-    private void minimizeIt()
-    {
-      /*  Determine prime implicants.
-       *    Terms are coalesced using the principle of
-       *    complementation, which says that A(x + x') == A.  All
-       *    minterms are put into a "Level zero" vector, then as many
-       *    as numVars "passes" are made applying the rule of
-       *    complementation to all pairs of product terms, passing
-       *    newly-reduced and irreducible terms from one level to the
-       *    next until all remaining product terms are irreducible.
-       *    (Prime implicants, by definition, are product terms that
-       *    cannot be reduced any further and still cover only
-       *    minterms of the truth table.)
-       */
-
-      //  Level zero has all minterms.
-      levelTerms[0] = new Vector<ProductTerm>();
-      for (int m = 0; m < numMinterms; m++)
-      {
-        levelTerms[0].add( minterms[m] );
-      }
-
-      if (! is_silent) {out.println("SIMPLIFY PRODUCT TERMS:");}
-      ProductTerm targetTerm = null;
-      ProductTerm candidateTerm = null;
-      ProductTerm reducedTerm = null;
-      int level = 0;
-      if ( numVars > 0 )  // Allow for initially constant expressions.
-      {
-        //  Reduction loop continues until all terms are prime
-        //  implicants or expression reduces to a constant.
-levelLoop:
-        for ( level = 1; level<numLevels; level++)
-        {
-          int numReduced = 0;
-          levelTerms[level] = new Vector<ProductTerm>();
-          Enumeration<ProductTerm> termsToReduce
-                                     = levelTerms[level -1].elements();
-          while ( termsToReduce.hasMoreElements() )
-          {
-            targetTerm = termsToReduce.nextElement();
-            boolean isReduced = false;
-            Enumeration<ProductTerm> candidateTerms 
-                                   = levelTerms[level - 1].elements();
-            while ( candidateTerms.hasMoreElements() )
-            {
-              candidateTerm = candidateTerms.nextElement();
-              reducedTerm = candidateTerm.reduces( targetTerm );
-              if ( reducedTerm != null )
-              {
-                numReduced++;
-                if (! is_silent) {out.print( "  (" + candidateTerm + " + " + targetTerm +
-                                            ") can be reduced to " + reducedTerm + " in pass " +
-                                            level + ": " );}
-                //  Add this reduced term only if it is not
-                //  already included.
-                boolean found = false;
-                Enumeration e = levelTerms[level].elements();
-                while ( e.hasMoreElements() )
-                {
-                  if ( reducedTerm.equals(
-                                      (ProductTerm)e.nextElement() ) )
-                  {
-                    if (! is_silent) {out.println( "Already included" );}
-                    found = true;
-                    break;
-                  }
-                }
-                if ( !found )
-                {
-                  if (! is_silent) {out.println( "Done" );}
-                  levelTerms[level].add( reducedTerm );
-                  if ( ProductTerm.identity.equals( reducedTerm ) )
-                  {
-                    if (! is_silent) {out.println( "  Expression reduces to identity." );}
-                    break levelLoop;
-                  }
-                }
-                isReduced = true;
-              }
-            }
-            if ( ! isReduced )
-            {
-              levelTerms[level].add( targetTerm );
-              if (! is_silent) {out.println("  Unable to reduce " + targetTerm + " in pass " +
-                                            level);}
-            }
-          }
-        if ( numReduced == 0 )
-          break;
-        }
-      }
-
-      //  levelTerms[level] now has product terms that are prime
-      //  implicants of the function.  Create a new vector of prime
-      //  implicant objects from this vector.
-      primeImplicants = new Vector<PrimeImplicant>();
-      Enumeration<ProductTerm> piEnum = levelTerms[level].elements();
-      while ( piEnum.hasMoreElements() )
-      {
-        PrimeImplicant pi = new PrimeImplicant( piEnum.nextElement(),
-                                                          minterms );
-        primeImplicants.add( pi );
-      }
-      
-      if (! is_silent) {out.println("\nDETERMINE ESSENTIAL PRIME IMPLICANTS:");}
-      //  Sort the prime implicants by number of literals.
-      Collections.sort( primeImplicants );
-
-      /*  Determine minimal sets of prime implicants.
-       *    1.  If any minterms are covered by just one p.i., that
-       *        p.i. must be used.
-       *    2.  Remove dominated p.i.s and dominating minterms.
-       *    3.  Use smallest p.i. if there is one; else branch.
-       */
-      //  Make a working copies of the minterms and prime implicants.
-      Vector<ProductTerm> uncoveredMinterms
-                          = new Vector<ProductTerm>( minterms.length );
-      Vector<PrimeImplicant> unusedPrimeImplicants
-                       = new Vector<PrimeImplicant>( primeImplicants );
-
-      //  Add all minterms to working list, and find how many PIs
-      //  cover each one.
-      for (int m=0; m< numMinterms; m++)
-      {
-        ProductTerm mt = minterms[m];
-        uncoveredMinterms.add(mt);
-        int numCovers = countCovers( mt, unusedPrimeImplicants );
-        if (! is_silent) {out.println("  Minterm " + mt.value + " is covered by " + numCovers +
-                                      " prime implicant" + (numCovers!=1?"s.":"."));}
-      }
-
-      //  Select the prime implicants to use.
-      if (! is_silent) {out.println( "  " + minterms.length + " minterm" +
-                                    (minterms.length!=1?"s":"") + " remain" );}
-      minimum = new Vector<ProductTerm>();
-      while ( uncoveredMinterms.size() > 0 )
-      {
-        //  Determine any and all (relatively) essential prime
-        //  implicants.
-        while ( addEssentialPrimeImplicants( minimum,
-                          uncoveredMinterms, unusedPrimeImplicants ) )
-          ; // repeat until method returns false
-
-        //  Remove dominated prime implicants and dominating minterms.
-        doDomination( unusedPrimeImplicants, uncoveredMinterms );
-        if ( uncoveredMinterms.size() == 0 )
-          break;
-
-        //  Pick a prime implicant to cover the least-covered minterm.
-        ProductTerm least =
-                       (ProductTerm) uncoveredMinterms.elementAt( 0 );
-        int min = countCovers( least, unusedPrimeImplicants );
-        for (int m=1; m<uncoveredMinterms.size(); m++)
-        {
-          ProductTerm minterm =
-                       (ProductTerm) uncoveredMinterms.elementAt( m );
-          int numCovers =
-                        countCovers( minterm, unusedPrimeImplicants );
-          if ( numCovers < min )
-          {
-            least = minterm;
-            min = numCovers;
-          }
-        }
-        for (int p=0; p<unusedPrimeImplicants.size(); p++)
-        {
-          PrimeImplicant pi =
-                (PrimeImplicant) unusedPrimeImplicants.elementAt( p );
-          if (pi.covers( least ) )
-          {
-            if (! is_silent) {out.println("  " +  pi + " covers " + least );}
-            minimum.add( pi );
-            unusedPrimeImplicants.remove( pi );
-            //  Remove all minterms covered by this prime implicant
-            Enumeration e = pi.getCovers().elements();
-            while ( e.hasMoreElements() )
-            {
-              ProductTerm pt = (ProductTerm) e.nextElement();
-              boolean removed = uncoveredMinterms.remove( pt );
-              if ( removed )
-                if (! is_silent) {out.println("  " + uncoveredMinterms.size() + " minterm" +
-                                              (uncoveredMinterms.size()!=1?"s":"") + " remain" );}
-            }
-          }
-        }
-      }
-    }
-
-
-  //  Method addEssentialPrimeImplicants()
-  //  ----------------------------------------------------------------
-  /**
-    *   An essential prime implicant is one which is the only one to
-    *   cover a minterm.
-    *
-    *   @return true if an essential prime implicant was found.
-    */
-    private boolean addEssentialPrimeImplicants(
-        Vector<ProductTerm> minimum,
-        Vector<ProductTerm> minterms,
-        Vector<PrimeImplicant> primeImplicants )
-    {
-      for (int m=0; m<minterms.size(); m++)
-      {
-        ProductTerm minterm = (ProductTerm) minterms.elementAt( m );
-        int numCovers = countCovers( minterm, primeImplicants );
-        if ( numCovers == 1 )
-        {
-          for (int p=0; p<primeImplicants.size(); p++)
-          {
-            PrimeImplicant pi =
-                      (PrimeImplicant) primeImplicants.elementAt( p );
-            if (pi.covers( minterm ) )
-            {
-              if (! is_silent) {out.println( "  " + pi + " is the only implicant that covers " +
-                                            minterm );}
-              minimum.add( pi );
-              primeImplicants.remove( pi );
-              Enumeration e = pi.getCovers().elements();
-              while ( e.hasMoreElements() )
-              {
-                boolean removed = minterms.remove( e.nextElement() );
-                if ( removed )
-                  if (! is_silent) {out.println( "  " + minterms.size() + " minterm" +
-                                              (minterms.size()!=1?"s":"") + " to go." );}
-              }
-              return true;
-            }
-          }
-        }
-      }
-      return false;
-    }
-
-
-  //  Method doDomination()
-  //  -----------------------------------------------------------------
-  /**
-    *   Removes dominated prime implicants and dominating minterms
-    *   from their respective vectors.
-    */
-    private void doDomination( Vector<PrimeImplicant> primeImplicants,
-                               Vector<ProductTerm> minterms )
-    {
-      //  One prime implicant dominates another if it is no more
-      //  complicated and implies a superset of the minterms implied
-      //  by the dominatee, which must be removed from consideration.
-      boolean piDominated = true;
-piDomination:
-      while ( piDominated )
-      {
-        piDominated = false;
-        int numPI = primeImplicants.size();
-        Vector<ProductTerm>[] implies = new Vector[ numPI ];
-        boolean[] dominated = new boolean[ numPI ];
-        Arrays.fill( dominated, false);
-        for (int pix=0; pix<numPI; pix++ )
-        {
-          PrimeImplicant pi = primeImplicants.elementAt( pix );
-          implies[pix] = new Vector<ProductTerm>();
-          for (int m=0; m<minterms.size(); m++)
-          {
-            if ( pi.covers( (ProductTerm)minterms.elementAt( m ) ) )
-              implies[pix].add( minterms.elementAt( m ) );
-          }
-        }
-        //  Check each pair of prime implicants for domination.
-        for (int i=0; i<numPI; i++)
-        {
-          for (int j=0; j<numPI; j++)
-          {
-            if ( i == j ) continue;
-            if (  implies[i].containsAll( implies[j] ) &&
-                  implies[i].size() > implies[j].size() )
-            {
-              if (! is_silent) {out.println("Error: " + primeImplicants.elementAt( i ) +
-                                            " dominates " + primeImplicants.elementAt( j ) );}
-              primeImplicants.removeElementAt( j );
-              piDominated = true;
-              break piDomination;
-            }
-          }
-        }
-      }
-    }
-
-
-  //  Method countCovers()
-  //  ----------------------------------------------------------------
-  /**
-    *   Sets the cover count for a minterm, given a list of prime
-    *   implicants.
-    */
-    private int countCovers(  ProductTerm minterm,
-                              Vector<PrimeImplicant> primeImplicants )
-    {
-      minterm.clearCoverCount();
-      Enumeration<PrimeImplicant> e = primeImplicants.elements();
-      while ( e.hasMoreElements() )
-      {
-        PrimeImplicant pi = e.nextElement();
-        if ( pi.covers( minterm ) )
-        {
-          minterm.incrementCoverCount();
-        }
-      }
-      int numCovers = minterm.getCoverCount();
-      if ( numCovers == 0 )
-        throw new RuntimeException( "Minterm " +
-               BitManipulation.reverseBits( minterm.value, numVars ) +
-                         " is not covered by any prime implicants." );
-      return numCovers;
-    }
-
-
-
-  //  Method priString()
-  //  -----------------------------------------------------------------
-  /**
-    *   Returns printable representation of prime implicants.
-    *
-    */
-    public String priString()
-    {
-
-      if ( 0 == primeImplicants.size() )
-        return "none";
-
-      StringBuffer sb = new StringBuffer();
-      for (int i=0; i<primeImplicants.size(); i++)
-      {
-        sb.append( primeImplicants.elementAt(i).toString() );
-        if ( i < (primeImplicants.size() - 1) )
-          sb.append( ", "  );
-      }
-      return new String( sb );
-    }
-
-
-  //  Method toString()
-  //  -----------------------------------------------------------------
-  /**
-    *   Returns a printable representation of the minimized function.
-    */
-    public String toString()
-    {
-
-      if ( 0 == minimum.size() )
-        return "0";
-
-      StringBuffer sb = new StringBuffer( );
-      for (int i=0; i<minimum.size(); i++)
-      {
-        ProductTerm pt = (ProductTerm)minimum.elementAt( i );
-        sb.append( pt.ptString() );
-        if ( i < minimum.size()-1 )
-        {
-          sb.append( " + " );
-        }
-      }
-      return new String( sb );
-    }
-
-
-  //  Method main()
-  //  -----------------------------------------------------------------
-  /**
-    *   Driver program for development/demonstration purposes.
-    *
-    *   @param args[0]  Boolean expression, using arbitrary variable
-    *                   names, + for OR, * or nothing for AND, and !
-    *                   for NOT.
-    */
-    public static void main( String[] args )
-    {
-      if (args[0].equals("-s")) {
-        args = Arrays.copyOfRange(args, 1, args.length);
-        is_silent = true;
-      }
-      else {
-        is_silent = false;
-      }
-
-      TruthTable        t = null;
-      MinimizedTable    m = null;
-      if ( args.length < 1 )
-      {
-        System.err.println(
-                  "Usage: java MinimizedTable <boolean expression>" );
-        System.err.println(
-                  "       java MinimizedTable <list of minterms>" );
-        System.exit( 1 );
-      }
-
-      int minterm_1 = -1;
-      try
-      {
-        minterm_1 = Integer.parseInt( args[0] );
-      }
-      catch ( NumberFormatException nfe ) { minterm_1 = -1; }
-
-      if ( (args.length == 1) && (minterm_1 == -1) )
-      {
-        try
-        {
-          t = new TruthTable(args[0]);
-          m = new MinimizedTable(args[0]);
-        }
-        catch (Exception e)
-        {
-          System.err.println(e.getMessage());
-          System.exit(1);
-        }
-      }
-      else
-      {
-        int[] minterms = new int[ args.length ];
-        int   i = 0;
-        try
-        {
-          for ( i=0; i<args.length; i++)
-          {
-            minterms[i] = Integer.parseInt( args[i] );
-            for (int j=0; j<i; j++)
-            {
-              if ( minterms[i] == minterms[j] )
-              {
-                System.err.println( "Error: " + minterms[i] + " is a duplicate minterm." );
-                System.exit( 1 );
-              }
-            }
-          }
-          try
-          {
-            t = new TruthTable(minterms);
-            m = new MinimizedTable(minterms);
-          }
-          catch (Exception e)
-          {
-            System.err.println(e.getMessage());
-            System.exit(1);
-          }
-        }
-        catch ( NumberFormatException nfe )
-        {
-          System.err.println( "Error: " + args[i] + " is not a valid minterm number." );
-          System.exit( 1 );
-        }
-      }
-      if (! is_silent) {
-        System.out.println( "Minterm Numbers:  " + t );
-        System.out.println( "Expression:       " + m.expString() );
-        System.out.println( "Sum of products:  " + m.sopString() );
-        System.out.println( "Prime implicants: " + m.priString() );
-        System.out.println( "Minimized:        " + m             );
-      }
-      else {
-        System.out.println(m);
-      }
-      System.exit( 0 );
-    }
-  }
+//$Id: MinimizedTable.java,v 1.3 2005/02/21 23:32:15 vickery Exp $
+/*
+ *  Author:     C. Vickery
+ *
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  $Log: MinimizedTable.java,v $
+ *  Revision 1.3  2005/02/21 23:32:15  vickery
+ *  Completed GUI.  Don't know how to scroll
+ *  within a table cell, and list of covers can
+ *  be too long to see sometimes.
+ *
+ *  Revision 1.2  2005/02/21 04:19:00  vickery
+ *  Continuing GUI development.
+ *  Fixed TruthTable to give variable names in alphabetic order, and to sort
+ *  minterm numbers.
+ *
+ *  Revision 1.1  2005/02/20 04:24:00  vickery
+ *  Started developing GUI.
+ *
+ *  Revision 1.1  2005/02/12 16:51:22  vickery
+ *  Revised to use generics for various Vectors and Enumerations.
+ *
+ *
+ */
+
+import java.io.File;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+//  Class MinimizedTable
+//  -------------------------------------------------------------------
+/**
+  *   Generates minimized sum of products representation of a truth
+  *   table.
+  *
+  *   @version  1.1 - Fall, 2000
+  *   @author   C. Vickery
+  */
+  public class MinimizedTable extends TruthTable
+  {
+    static final long serialVersionUID = 6365229939599366603L;
+
+    /** Receives the steps of the minimization, or null for none.   */
+    protected MinimizeListener listener = null;
+
+    /** Cover methods: how to choose among the prime implicants that
+        remain after the essential ones have been selected, or, for
+        ESPRESSO, how to find a cover without generating all of the
+        prime implicants first.                                     */
+    public static final int GREEDY_COVER  = 0;
+    public static final int EXACT_COVER   = 1;
+    public static final int ESPRESSO      = 2;
+
+    /** The cover method used by this table.                        */
+    protected int     coverMethod     = GREEDY_COVER;
+
+    /** Number of branch-and-bound nodes visited by EXACT_COVER.    */
+    protected long    numSearchNodes  = 0;
+
+    /** EXACT_COVER gives up after this many nodes and keeps the best
+        cover found so far, so a hard chart can't run forever.      */
+    public static final long DEFAULT_NODE_LIMIT = 100000;
+    protected long    nodeLimit       = DEFAULT_NODE_LIMIT;
+    protected boolean provedMinimum   = false;
+
+    /** Size of the chart left after the first reduction to a fixpoint
+        of essentials and dominance: the part a cover method has to
+        work on.  Zero for ESPRESSO, which builds no chart.         */
+    protected int     coreImplicants  = 0;
+    protected int     coreMinterms    = 0;
+
+    /** Runs the parallel passes of prime implicant generation, or
+        null to find them in the calling thread.                    */
+    protected ExecutorService executor  = null;
+
+    /** Minimized functions shared with other tables, or null.      */
+    protected MinimizationCache cache = null;
+
+    /** Phase times and counts for this table.                      */
+    protected MinimizeStatistics statistics = new MinimizeStatistics();
+
+    /** The prime implicants for this truth table.                  */
+    protected Vector<PrimeImplicant>  primeImplicants;
+
+    Vector<ProductTerm> minimum; // Only one minimization for now.
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public int      getCoverMethod()    { return coverMethod;     }
+    public long     getNumSearchNodes() { return numSearchNodes;  }
+    public boolean  isProvedMinimum()   { return provedMinimum;   }
+    public int      getCyclicCoreImplicants() { return coreImplicants; }
+    public int      getCyclicCoreMinterms()   { return coreMinterms;   }
+    public MinimizeStatistics getStatistics() { return statistics;     }
+
+  /*
+   *  These are to support the Table Model interface.  I've repeated
+   *  some that would be inherited from TruthTable, for clarity.
+   */
+    public int      getRowCount() { return primeImplicants.size(); }
+    public int      getColumnCount()  { return 2; }
+    public boolean  isCellEditable(int row, int col) { return false; }
+    public String   getColumnName(int col)
+    {
+      switch (col)
+      {
+        case 0:
+            return "Prime Implicant";
+        case 1:
+            return "Implied Terms";
+        default:
+          throw new RuntimeException("Program Error: Bad switch");
+      }
+    }
+    public Object   getValueAt(int row, int col)
+    {
+      switch (col)
+      {
+        case 0:
+            return primeImplicants.elementAt(row).getImplicantString();
+        case 1:
+            return primeImplicants.elementAt(row).getCovers();
+        default:
+          throw new RuntimeException("Program Error: Bad switch");
+      }
+    }
+
+
+  //  Constructors
+  //  ================================================================
+  //  ----------------------------------------------------------------
+  /**
+    *   Creates a minimized sum of products function equivalent to the
+    *   list of minterms provided by class TruthTable.
+    *
+    *   Algorithm:
+    *   1.  Initialize the truth table, and create a list of all prime
+    *       implicants for the truth table.
+    *   2.  Select minimal sets of prime implicants that will cover
+    *       all minterms.
+    *
+    *   @param  s   A text string representing the boolean function to
+    *               be minimized.
+    */
+    public MinimizedTable( String s )
+    {
+      this( s, System.out );
+    }
+    //  --------------------------------------------------------------
+    public MinimizedTable( String s, PrintStream ps )
+    {
+      this( s, new MinimizeOptions( ps, GREEDY_COVER, null ) );
+    }
+
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m   Array of minterm numbers.
+      */
+      public MinimizedTable( int[] m )
+      {
+        this( m, System.out );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m   Array of minterm numbers.
+      *   @param  ps  PrintStream to receive output.
+      */
+      public MinimizedTable( int[] m, PrintStream ps )
+      {
+        this( m, new MinimizeOptions( ps, GREEDY_COVER, null ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  s           A text string representing the boolean
+      *                       function to be minimized.
+      *   @param  ps          PrintStream to receive output.
+      *   @param  coverMethod GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+      */
+      public MinimizedTable( String s, PrintStream ps, int coverMethod )
+      {
+        this( s, new MinimizeOptions( ps, coverMethod, null ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m           Array of minterm numbers.
+      *   @param  ps          PrintStream to receive output.
+      *   @param  coverMethod GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+      */
+      public MinimizedTable( int[] m, PrintStream ps, int coverMethod )
+      {
+        this( m, new MinimizeOptions( ps, coverMethod, null ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  mintermSet    The true rows of the function, such as
+      *                         a MappedMintermSet.
+      *   @param  variableNames The variables, most significant first.
+      *   @param  ps            PrintStream to receive output.
+      *   @param  coverMethod   GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+      */
+      public MinimizedTable( MintermSet mintermSet, char[] variableNames,
+                                          PrintStream ps, int coverMethod )
+      {
+        this( mintermSet, variableNames,
+                          new MinimizeOptions( ps, coverMethod, null ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  s           A text string representing the boolean
+      *                       function to be minimized.
+      *   @param  ps          PrintStream to receive output.
+      *   @param  coverMethod GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+      *   @param  executor    Runs the parallel passes of prime
+      *                       implicant generation; see
+      *                       PrimeImplicantFinder.
+      */
+      public MinimizedTable( String s, PrintStream ps, int coverMethod,
+                                              ExecutorService executor )
+      {
+        this( s, new MinimizeOptions( ps, coverMethod, executor ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m           Array of minterm numbers.
+      *   @param  ps          PrintStream to receive output.
+      *   @param  coverMethod GREEDY_COVER, EXACT_COVER, or ESPRESSO.
+      *   @param  executor    Runs the parallel passes of prime
+      *                       implicant generation; see
+      *                       PrimeImplicantFinder.
+      */
+      public MinimizedTable( int[] m, PrintStream ps, int coverMethod,
+                                              ExecutorService executor )
+      {
+        this( m, new MinimizeOptions( ps, coverMethod, executor ) );
+      }
+    //  --------------------------------------------------------------
+    /**
+      *   The constructors that take a MinimizeOptions are the ones to
+      *   use when minimizing in more than one thread at a time; see
+      *   MinimizeOptions.
+      *
+      *   @param  s           A text string representing the boolean
+      *                       function to be minimized.
+      *   @param  options     Trace stream, cover method, executor,
+      *                       and node limit.
+      */
+      public MinimizedTable( String s, MinimizeOptions options )
+      {
+        super( s );
+        setOptions( options );
+        minimizeOrRecall();
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m           Array of minterm numbers.
+      *   @param  options     Trace stream, cover method, executor,
+      *                       and node limit.
+      */
+      public MinimizedTable( int[] m, MinimizeOptions options )
+      {
+        super( m );
+        setOptions( options );
+        minimizeOrRecall();
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  m           Array of minterm numbers, of up to
+      *                       TruthTable.MAX_VARS variables.
+      *   @param  options     Trace stream, cover method, executor,
+      *                       and node limit.
+      */
+      public MinimizedTable( long[] m, MinimizeOptions options )
+      {
+        super( m );
+        setOptions( options );
+        minimizeOrRecall();
+      }
+    //  --------------------------------------------------------------
+    /**
+      *
+      *   @param  mintermSet    The true rows of the function, such as
+      *                         a MappedMintermSet.
+      *   @param  variableNames The variables, most significant first.
+      *   @param  options       Trace stream, cover method, executor,
+      *                         and node limit.
+      */
+      public MinimizedTable( MintermSet mintermSet, char[] variableNames,
+                                              MinimizeOptions options )
+      {
+        super( mintermSet, variableNames );
+        setOptions( options );
+        minimizeOrRecall();
+      }
+
+
+  //  Method setOptions()
+  //  ----------------------------------------------------------------
+  /**
+    *   Copies the options into this table, so that changing the options
+    *   object afterwards has no effect on it.
+    */
+    private void setOptions( MinimizeOptions options )
+    {
+      listener    = options.getListener();
+      if ( listener == null && options.getOut() != null )
+        listener  = new TracePrinter( options.getOut(), variableNames );
+      coverMethod = options.getCoverMethod();
+      executor    = options.getExecutor();
+      nodeLimit   = options.getNodeLimit();
+      cache       = options.getCache();
+    }
+
+
+  //  Method minimizeOrRecall()
+  //  ----------------------------------------------------------------
+  /**
+    *   Looks the function up in the cache, if there is one and no
+    *   trace, and minimizes it only if it is not there.  A newly
+    *   minimized function is added to the cache.
+    */
+    private void minimizeOrRecall()
+    {
+      if ( cache == null || listener != null )
+      {
+        minimizeIt();
+        return;
+      }
+      MinimizationCache.Key key =
+                    MinimizationCache.keyFor( this, coverMethod, nodeLimit );
+      MinimizationCache.Entry entry = cache.get( key );
+      if ( entry != null )
+      {
+        recall( entry );
+        return;
+      }
+      minimizeIt();
+
+      //  Keep the cover as indexes into the prime implicants.
+      long[] values = new long[ primeImplicants.size() ];
+      HashMap<ProductTerm, Integer> indexOf =
+                        new HashMap<ProductTerm, Integer>( 2 * values.length );
+      long[] masks  = new long[ values.length ];
+      for (int p=0; p<values.length; p++)
+      {
+        PrimeImplicant pi = primeImplicants.elementAt( p );
+        values[p] = pi.getValue();
+        masks[p]  = pi.getMask();
+        indexOf.put( pi, p );
+      }
+      int[] cover = new int[ minimum.size() ];
+      for (int c=0; c<cover.length; c++)
+        cover[c] = indexOf.get( minimum.elementAt( c ) );
+      cache.put( key, new MinimizationCache.Entry( values, masks, cover,
+                    coreImplicants, coreMinterms, numSearchNodes,
+                    provedMinimum ) );
+    }
+
+
+  //  Method recall()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sets up the prime implicants and the cover from a cache entry,
+    *   using this table's variable names, instead of minimizing.
+    */
+    private void recall( MinimizationCache.Entry entry )
+    {
+      primeImplicants = new Vector<PrimeImplicant>(
+                                        entry.getNumPrimeImplicants() );
+      for (int p=0; p<entry.getNumPrimeImplicants(); p++)
+        primeImplicants.add( new PrimeImplicant(
+              new ProductTerm( entry.getPrimeValue( p ),
+                      entry.getPrimeMask( p ), variableNames ), this ) );
+      minimum = new Vector<ProductTerm>( entry.getCoverSize() );
+      for (int c=0; c<entry.getCoverSize(); c++)
+        minimum.add( primeImplicants.elementAt( entry.getCoverTerm( c ) ) );
+      coreImplicants  = entry.getCoreImplicants();
+      coreMinterms    = entry.getCoreMinterms();
+      numSearchNodes  = entry.getNumSearchNodes();
+      provedMinimum   = entry.isProvedMinimum();
+
+      statistics.fromCache = true;
+      statistics.truthTableNanos = System.nanoTime() - createdNanos;
+      statistics.totalNanos = statistics.truthTableNanos;
+      statistics.numPrimeImplicants = primeImplicants.size();
+      statistics.coreImplicants = coreImplicants;
+      statistics.coreMinterms = coreMinterms;
+      statistics.coverSize = minimum.size();
+      statistics.numSearchNodes = numSearchNodes;
+      long bytes = MinimizeStatistics.threadAllocatedBytes();
+      if ( createdBytes >= 0 && bytes >= 0 )
+        statistics.allocatedBytes = bytes - createdBytes;
+    }
+
+  //  Method minimizeIt()
+  //  ----------------------------------------------------------------
+  /**
+    *   Minimizes a truth table by first determining all prime
+    *   implicants and then selecting minimal sets of prime implicants
+    *   that cover all minterms using the Quine-McCluskey "chart"
+    *   method, or with ESPRESSO.  Records what each phase cost in
+    *   the statistics; see getStatistics().
+    */
+    private void minimizeIt()
+    {
+      MinimizeEvents.MinimizeEvent event =
+                                        new MinimizeEvents.MinimizeEvent();
+      event.begin();
+      statistics.truthTableNanos = System.nanoTime() - createdNanos;
+      if ( coverMethod == ESPRESSO )
+        minimizeHeuristically();
+      else
+        minimizeWithChart();
+      statistics.totalNanos = System.nanoTime() - createdNanos;
+      statistics.numPrimeImplicants = primeImplicants.size();
+      statistics.coreImplicants = coreImplicants;
+      statistics.coreMinterms = coreMinterms;
+      statistics.coverSize = minimum.size();
+      statistics.numSearchNodes = numSearchNodes;
+      long bytes = MinimizeStatistics.threadAllocatedBytes();
+      if ( createdBytes >= 0 && bytes >= 0 )
+        statistics.allocatedBytes = bytes - createdBytes;
+      if ( event.shouldCommit() )
+      {
+        event.numVars             = numVars;
+        event.numMinterms         = numMinterms;
+        event.coverMethod         = coverMethod;
+        event.numPrimeImplicants  = primeImplicants.size();
+        event.coverSize           = minimum.size();
+        event.commit();
+      }
+    }
+
+
+  //  Method minimizeWithChart()
+  //  ----------------------------------------------------------------
+  /**
+    *   Finds all the prime implicants, then chooses a cover from the
+    *   chart of prime implicants and the minterms they cover.
+    */
+    private void minimizeWithChart()
+    {
+      MinimizeEvents.PrimeImplicantsEvent primesEvent =
+                                new MinimizeEvents.PrimeImplicantsEvent();
+      primesEvent.begin();
+      long start = System.nanoTime();
+
+      /*  Determine prime implicants.
+       *    Terms are coalesced using the principle of
+       *    complementation, which says that A(x + x') == A.  All
+       *    minterms form the first pass, then as many as numVars
+       *    passes are made applying the rule of complementation to
+       *    pairs of product terms, passing newly-reduced terms from
+       *    one pass to the next until all remaining product terms are
+       *    irreducible.  Only pairs with the same mask and numbers of
+       *    1's that differ by one are compared; see
+       *    PrimeImplicantFinder.  (Prime implicants, by definition,
+       *    are product terms that cannot be reduced any further and
+       *    still cover only minterms of the truth table.)
+       */
+      if ( listener != null )
+        listener.phaseStarted( MinimizeListener.FIND_PRIME_IMPLICANTS );
+      PrimeImplicantFinder finder = new PrimeImplicantFinder(
+                                        variableNames, null, executor );
+      finder.setListener( listener );
+      CubeStore mintermCubes = new CubeStore( numMinterms );
+      for (long r = mintermSet.nextSetBit( 0 ); r >= 0;
+                                         r = mintermSet.nextSetBit( r + 1 ))
+        mintermCubes.add( r, mintermMask );
+      Vector<ProductTerm> primes = finder.findPrimeImplicants( mintermCubes )
+                                        .toProductTerms( variableNames );
+      statistics.termsPerPass = finder.getTermsPerPass();
+      statistics.comparedPerPass = finder.getComparedPerPass();
+      statistics.mergedPerPass = finder.getMergedPerPass();
+      long now = System.nanoTime();
+      statistics.passesNanos = now - start;
+      start = now;
+
+      //  Create a new vector of prime implicant objects from the
+      //  product terms that could not be reduced.
+      primeImplicants = new Vector<PrimeImplicant>();
+      Enumeration<ProductTerm> piEnum = primes.elements();
+      while ( piEnum.hasMoreElements() )
+      {
+        PrimeImplicant pi = new PrimeImplicant( piEnum.nextElement(),
+                                                              this );
+        primeImplicants.add( pi );
+      }
+      
+      if ( listener != null )
+        listener.phaseStarted( MinimizeListener.SELECT_COVER );
+      //  Sort the prime implicants by number of literals.
+      Collections.sort( primeImplicants );
+      if ( primesEvent.shouldCommit() )
+      {
+        primesEvent.numVars             = numVars;
+        primesEvent.numMinterms         = numMinterms;
+        primesEvent.numPasses           = finder.getNumPasses();
+        primesEvent.numPrimeImplicants  = primeImplicants.size();
+        primesEvent.commit();
+      }
+      MinimizeEvents.CoverEvent coverEvent =
+                                          new MinimizeEvents.CoverEvent();
+      coverEvent.begin();
+
+      /*  Determine minimal sets of prime implicants.
+       *    1.  If any minterms are covered by just one p.i., that
+       *        p.i. must be used.
+       *    2.  Remove dominated p.i.s and dominating minterms.
+       *        Repeat 1 and 2 until neither changes anything; what
+       *        is left is the cyclic core.
+       *    3.  Use smallest p.i. if there is one; else branch.
+       */
+      //  Index the chart: column m is minterm mintermSet.select( m )
+      //  and row p is the p'th prime implicant.  The index keeps the
+      //  number of unused prime implicants that cover each minterm up
+      //  to date.
+      CoverIndex index = new CoverIndex( chartRows( primeImplicants ),
+                                                    numMinterms );
+      for (int m=0; m< numMinterms; m++)
+      {
+        int numCovers = index.getCount( m );
+        if ( numCovers == 0 )
+          throw new RuntimeException( "Minterm " +
+               BitManipulation.reverseBits( mintermSet.select( m ), numVars ) +
+                         " is not covered by any prime implicants." );
+        if ( listener != null )
+          listener.mintermCoverCount( mintermSet.select( m ), numCovers );
+      }
+      now = System.nanoTime();
+      statistics.materializeNanos = now - start;
+      start = now;
+
+      //  Select the prime implicants to use.
+      coreImplicants = coreMinterms = 0;
+      if ( listener != null )
+        listener.mintermsRemaining( numMinterms );
+      minimum = new Vector<ProductTerm>();
+      boolean firstCore = true;
+      while ( index.getNumUncovered() > 0 )
+      {
+        //  Take essential prime implicants and drop dominated rows and
+        //  columns until nothing changes.  What is left is the cyclic
+        //  core.
+        statistics.coverNanos += System.nanoTime() - start;
+        reduceToCyclicCore( minimum, index );
+        start = System.nanoTime();
+        if ( firstCore )
+        {
+          firstCore = false;
+          coreMinterms = index.getNumUncovered();
+          coreImplicants = coreMinterms > 0 ? index.getNumAvailable() : 0;
+          if ( listener != null )
+            listener.cyclicCore( coreImplicants, coreMinterms );
+        }
+        if ( index.getNumUncovered() == 0 )
+          break;
+
+        //  Cover whatever is left optimally, if requested.
+        if ( coverMethod == EXACT_COVER )
+        {
+          addExactCover( minimum, uncoveredMinterms( index ),
+                                      unusedPrimeImplicants( index ) );
+          break;
+        }
+
+        //  Pick a prime implicant to cover the least-covered minterm.
+        //  Every unused prime implicant that covers it is used, except
+        //  that one directly after a chosen one in the list of unused
+        //  prime implicants is passed over.
+        int least = index.leastCovered();
+        boolean[] coversLeast = new boolean[ primeImplicants.size() ];
+        int[] rows = index.getRows( least );
+        for (int i=0; i<rows.length; i++)
+          coversLeast[ rows[i] ] = true;
+        boolean skip = false;
+        for (int p=0; p<primeImplicants.size(); p++)
+        {
+          if ( ! index.isAvailable( p ) )
+            continue;
+          if ( skip )
+          {
+            skip = false;
+            continue;
+          }
+          if ( coversLeast[p] )
+          {
+            PrimeImplicant pi = primeImplicants.elementAt( p );
+            if ( listener != null )
+              listener.greedyChosen( pi.getValue(), pi.getMask(),
+                          pi.getCoverRows(), mintermSet.select( least ) );
+            minimum.add( pi );
+            index.removeRow( p );
+            skip = true;
+            //  Remove all minterms covered by this prime implicant
+            int[] cols = index.getCols( p );
+            for (int i=0; i<cols.length; i++)
+            {
+              if ( index.coverCol( cols[i] ) )
+                if ( listener != null )
+                  listener.mintermsRemaining( index.getNumUncovered() );
+            }
+          }
+        }
+      }
+      statistics.coverNanos += System.nanoTime() - start;
+      if ( coverEvent.shouldCommit() )
+      {
+        coverEvent.numVars            = numVars;
+        coverEvent.numMinterms        = numMinterms;
+        coverEvent.coverMethod        = coverMethod;
+        coverEvent.numPrimeImplicants = primeImplicants.size();
+        coverEvent.coreImplicants     = coreImplicants;
+        coverEvent.coreMinterms       = coreMinterms;
+        coverEvent.coverSize          = minimum.size();
+        coverEvent.numSearchNodes     = numSearchNodes;
+        coverEvent.commit();
+      }
+    }
+
+
+  //  Method chartRows()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns, for each prime implicant, the positions in the minterm
+    *   set (see MintermSet.indexOf()) of the minterms it covers, in
+    *   increasing order.
+    */
+    private int[][] chartRows( Vector<PrimeImplicant> primeImplicants )
+    {
+      int[][] rows = new int[ primeImplicants.size() ][];
+      for (int p=0; p<rows.length; p++)
+      {
+        long[] covers = primeImplicants.elementAt( p ).getCoverRows();
+        rows[p] = new int[ covers.length ];
+        for (int i=0; i<covers.length; i++)
+          rows[p][i] = mintermSet.indexOf( covers[i] );
+      }
+      return rows;
+    }
+
+
+  //  Method uncoveredMinterms()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the minterms not yet covered, in order.  Only these get
+    *   ProductTerm objects.
+    */
+    private Vector<ProductTerm> uncoveredMinterms( CoverIndex index )
+    {
+      Vector<ProductTerm> uncovered =
+                      new Vector<ProductTerm>( index.getNumUncovered() );
+      for (int m=0; m<numMinterms; m++)
+        if ( ! index.isCovered( m ) )
+          uncovered.add( getMinterm( m ) );
+      return uncovered;
+    }
+
+
+  //  Method unusedPrimeImplicants()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the prime implicants not yet used or discarded, in
+    *   order.
+    */
+    private Vector<PrimeImplicant> unusedPrimeImplicants( CoverIndex index )
+    {
+      Vector<PrimeImplicant> unused =
+                    new Vector<PrimeImplicant>( index.getNumAvailable() );
+      for (int p=0; p<primeImplicants.size(); p++)
+        if ( index.isAvailable( p ) )
+          unused.add( primeImplicants.elementAt( p ) );
+      return unused;
+    }
+
+
+  //  Method minimizeHeuristically()
+  //  ----------------------------------------------------------------
+  /**
+    *   Finds a cover of prime implicants with the Espresso-style
+    *   EXPAND, IRREDUNDANT, REDUCE loop (see class Espresso) instead of
+    *   generating all prime implicants and choosing among them.  For
+    *   large functions this is much faster, but the cover is not
+    *   guaranteed to be a minimum one.  The prime implicants reported
+    *   are the ones in the cover.
+    */
+    private void minimizeHeuristically()
+    {
+      MinimizeEvents.EspressoEvent event =
+                                        new MinimizeEvents.EspressoEvent();
+      event.begin();
+      long start = System.nanoTime();
+      if ( listener != null )
+        listener.phaseStarted( MinimizeListener.ESPRESSO );
+      Espresso espresso = new Espresso( this, null );
+      espresso.setListener( listener );
+      Vector<ProductTerm> cover = espresso.minimize();
+
+      primeImplicants = new Vector<PrimeImplicant>();
+      minimum = new Vector<ProductTerm>();
+      Enumeration<ProductTerm> e = cover.elements();
+      while ( e.hasMoreElements() )
+      {
+        PrimeImplicant pi = new PrimeImplicant( e.nextElement(), this );
+        primeImplicants.add( pi );
+        minimum.add( pi );
+      }
+      statistics.coverNanos = System.nanoTime() - start;
+      if ( event.shouldCommit() )
+      {
+        event.numVars     = numVars;
+        event.numMinterms = numMinterms;
+        event.coverSize   = minimum.size();
+        event.commit();
+      }
+    }
+
+
+  //  Method addEssentialPrimeImplicant()
+  //  ----------------------------------------------------------------
+  /**
+    *   An essential prime implicant is one which is the only one to
+    *   cover a minterm.  Adds the one that covers the first such
+    *   minterm, if there is one.
+    *
+    *   @return true if an essential prime implicant was found.
+    */
+    private boolean addEssentialPrimeImplicant( Vector<ProductTerm> minimum,
+                                                CoverIndex index )
+    {
+      int m = index.leastCovered();
+      if ( m < 0 || index.getCount( m ) > 1 )
+        return false;
+      if ( index.getCount( m ) == 0 )
+        throw new RuntimeException( "Minterm " +
+               BitManipulation.reverseBits( mintermSet.select( m ), numVars ) +
+                         " is not covered by any prime implicants." );
+      int p = index.firstRow( m );
+      PrimeImplicant pi = primeImplicants.elementAt( p );
+      if ( listener != null )
+        listener.essentialChosen( pi.getValue(), pi.getMask(),
+                                pi.getCoverRows(), mintermSet.select( m ) );
+      minimum.add( pi );
+      index.removeRow( p );
+      int[] cols = index.getCols( p );
+      for (int i=0; i<cols.length; i++)
+      {
+        if ( index.coverCol( cols[i] ) )
+          if ( listener != null )
+            listener.mintermsRemaining( index.getNumUncovered() );
+      }
+      return true;
+    }
+
+
+  //  Method addExactCover()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds a minimum set of prime implicants that covers all the
+    *   remaining minterms, found by branch-and-bound (see ExactCover).
+    *   The fewest prime implicants are used, and among covers with
+    *   that many the one with the fewest literals, unless the search
+    *   reaches nodeLimit first; then the best cover found so far is
+    *   used and isProvedMinimum() returns false.
+    */
+    private void addExactCover( Vector<ProductTerm> minimum,
+                                Vector<ProductTerm> minterms,
+                                Vector<PrimeImplicant> primeImplicants )
+    {
+      provedMinimum = true;
+      if ( minterms.size() == 0 )
+        return;
+      int numPI = primeImplicants.size();
+      int[][] covers = new int[ numPI ][];
+      long[] cost = new long[ numPI ];
+      //  Weight each p.i. so that one more of them always costs more
+      //  than all the literals of the others.
+      long perImplicant = (long)numVars * numPI + 1;
+      for (int p=0; p<numPI; p++)
+      {
+        PrimeImplicant pi = primeImplicants.elementAt( p );
+        IntVector covered = new IntVector();
+        for (int m=0; m<minterms.size(); m++)
+          if ( pi.covers( minterms.elementAt( m ) ) )
+            covered.append( m );
+        covers[p] = covered.toArray();
+        cost[p] = perImplicant + pi.getNumLiterals();
+      }
+      ExactCover exact = new ExactCover( covers, minterms.size(), cost );
+      exact.setNodeLimit( nodeLimit );
+      int[] chosen = exact.solve();
+      numSearchNodes += exact.getNumNodes();
+      provedMinimum = exact.isOptimal();
+      if ( listener != null )
+        listener.exactCoverFound( minterms.size(), chosen.length, numPI,
+                                    exact.getNumNodes(), provedMinimum );
+
+      Vector<PrimeImplicant> used = new Vector<PrimeImplicant>();
+      for (int c=0; c<chosen.length; c++)
+        used.add( primeImplicants.elementAt( chosen[c] ) );
+      for (int p=0; p<used.size(); p++)
+      {
+        PrimeImplicant pi = used.elementAt( p );
+        if ( listener != null )
+          listener.exactChosen( pi.getValue(), pi.getMask(),
+                                                    pi.getCoverRows() );
+        minimum.add( pi );
+        primeImplicants.remove( pi );
+        Enumeration<ProductTerm> e = pi.getCovers().elements();
+        while ( e.hasMoreElements() )
+          minterms.remove( e.nextElement() );
+      }
+    }
+
+
+  //  Method reduceToCyclicCore()
+  //  -----------------------------------------------------------------
+  /**
+    *   Alternates taking essential prime implicants, removing dominated
+    *   prime implicants, and removing dominating minterms until none of
+    *   them changes the index.
+    */
+    private void reduceToCyclicCore( Vector<ProductTerm> minimum,
+                                                    CoverIndex index )
+    {
+      boolean changed = true;
+      while ( changed && index.getNumUncovered() > 0 )
+      {
+        long start = System.nanoTime();
+        while ( addEssentialPrimeImplicant( minimum, index ) )
+          ; // repeat until method returns false
+        long now = System.nanoTime();
+        statistics.essentialsNanos += now - start;
+        if ( index.getNumUncovered() == 0 )
+          break;
+        changed = doDomination( index );
+        changed |= doColumnDomination( index );
+        statistics.dominanceNanos += System.nanoTime() - now;
+      }
+    }
+
+
+  //  Method doDomination()
+  //  -----------------------------------------------------------------
+  /**
+    *   Removes dominated prime implicants from the index.
+    *
+    *   @return true if any were removed.
+    */
+    private boolean doDomination( CoverIndex index )
+    {
+      //  One prime implicant dominates another if it implies a proper
+      //  superset of the uncovered minterms implied by the dominatee,
+      //  which must be removed from consideration.  The chart has a
+      //  row for each available prime implicant and a column for each
+      //  uncovered minterm, numbered in the same order as in the
+      //  index, and all dominated prime implicants are found in one
+      //  sweep.  An exact cover has to keep the fewest literals too,
+      //  so there a prime implicant only dominates ones with at least
+      //  as many literals.
+      int[] rows = index.getAvailable();
+      int[] cols = index.getUncovered();
+      int[] rowOf = new int[ primeImplicants.size() ];
+      for (int r=0; r<rows.length; r++)
+        rowOf[ rows[r] ] = r;
+      CoverChart chart = new CoverChart( rows.length, cols.length );
+      for (int c=0; c<cols.length; c++)
+      {
+        int[] covers = index.getRows( cols[c] );
+        for (int i=0; i<covers.length; i++)
+          if ( index.isAvailable( covers[i] ) )
+            chart.set( rowOf[ covers[i] ], c );
+      }
+      long[] cost = null;
+      if ( coverMethod == EXACT_COVER )
+      {
+        cost = new long[ rows.length ];
+        for (int r=0; r<rows.length; r++)
+          cost[r] = primeImplicants.elementAt( rows[r] ).getNumLiterals();
+      }
+      int[] dominator = chart.findDominatedRows( null, cost );
+      boolean removed = false;
+      for (int r=0; r<rows.length; r++)
+      {
+        if ( dominator[r] < 0 )
+          continue;
+        int p = rows[r];
+        if ( listener != null )
+        {
+          PrimeImplicant pi = primeImplicants.elementAt( p );
+          PrimeImplicant by = primeImplicants.elementAt(
+                                                  rows[ dominator[r] ] );
+          listener.implicantDominated( pi.getValue(), pi.getMask(),
+                                        pi.getCoverRows(), by.getValue(),
+                                        by.getMask(), by.getCoverRows() );
+        }
+        index.removeRow( p );
+        removed = true;
+      }
+      return removed;
+    }
+
+
+  //  Method doColumnDomination()
+  //  -----------------------------------------------------------------
+  /**
+    *   Removes dominating minterms from the index.
+    *
+    *   @return true if any were removed.
+    */
+    private boolean doColumnDomination( CoverIndex index )
+    {
+      //  One minterm dominates another if every unused prime implicant
+      //  that covers the other also covers it: whatever covers the
+      //  other will cover it too, so it no longer needs to be looked
+      //  at.  The transposed chart has a row for each uncovered
+      //  minterm and a column for each unused prime implicant.
+      int[] rows = index.getUncovered();
+      int[] cols = index.getAvailable();
+      int[] colOf = new int[ primeImplicants.size() ];
+      for (int c=0; c<cols.length; c++)
+        colOf[ cols[c] ] = c;
+      CoverChart chart = new CoverChart( rows.length, cols.length );
+      for (int r=0; r<rows.length; r++)
+      {
+        int[] covers = index.getRows( rows[r] );
+        for (int i=0; i<covers.length; i++)
+          if ( index.isAvailable( covers[i] ) )
+            chart.set( r, colOf[ covers[i] ] );
+      }
+      int[] contained = chart.findContainingRows( null );
+      boolean removed = false;
+      for (int r=0; r<rows.length; r++)
+      {
+        if ( contained[r] < 0 )
+          continue;
+        int m = rows[r];
+        if ( listener != null )
+          listener.mintermDominated( mintermSet.select( m ),
+                              mintermSet.select( rows[ contained[r] ] ) );
+        index.coverCol( m );
+        removed = true;
+      }
+      return removed;
+    }
+
+
+  //  Method priString()
+  //  -----------------------------------------------------------------
+  /**
+    *   Returns printable representation of prime implicants.
+    *
+    */
+    public String priString()
+    {
+
+      if ( 0 == primeImplicants.size() )
+        return "none";
+
+      StringBuffer sb = new StringBuffer();
+      for (int i=0; i<primeImplicants.size(); i++)
+      {
+        sb.append( primeImplicants.elementAt(i).toString() );
+        if ( i < (primeImplicants.size() - 1) )
+          sb.append( ", "  );
+      }
+      return new String( sb );
+    }
+
+
+  //  Method toString()
+  //  -----------------------------------------------------------------
+  /**
+    *   Returns a printable representation of the minimized function.
+    */
+    public String toString()
+    {
+
+      if ( 0 == minimum.size() )
+        return "0";
+
+      StringBuffer sb = new StringBuffer( );
+      for (int i=0; i<minimum.size(); i++)
+      {
+        ProductTerm pt = (ProductTerm)minimum.elementAt( i );
+        sb.append( pt.ptString() );
+        if ( i < minimum.size()-1 )
+        {
+          sb.append( " + " );
+        }
+      }
+      return new String( sb );
+    }
+
+
+  //  Method main()
+  //  -----------------------------------------------------------------
+  /**
+    *   Driver program for development/demonstration purposes.
+    *
+    *   @param args[0]  Boolean expression, using arbitrary variable
+    *                   names, + for OR, * or nothing for AND, and !
+    *                   for NOT.
+    */
+    public static void main( String[] args )
+    {
+      if ( args.length > 0 && args[0].equals("-b") )
+      {
+        MinimizeBatch.main( Arrays.copyOfRange(args, 1, args.length) );
+        return;
+      }
+      MinimizeOptions options = new MinimizeOptions( System.out,
+                                                  GREEDY_COVER, null );
+      File    mintermFile   = null;
+      int     mintermFormat = MintermReader.TEXT;
+      boolean printStats    = false;
+      while ( args.length > 0 && (args[0].equals("-s") ||
+              args[0].equals("-x") || args[0].equals("-e") ||
+              args[0].equals("-p") || args[0].equals("-f") ||
+              args[0].equals("-fb") || args[0].equals("--stats")) )
+      {
+        if (args[0].equals("-f") || args[0].equals("-fb")) {
+          if ( args.length < 2 )
+          {
+            System.err.println( "Error: " + args[0] + " needs a file name." );
+            System.exit( 1 );
+          }
+          mintermFormat = args[0].equals("-f") ? MintermReader.TEXT :
+                                                 MintermReader.BINARY;
+          mintermFile = new File( args[1] );
+          args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        else if (args[0].equals("-s")) {
+          options.setOut( null );
+        }
+        else if (args[0].equals("--stats")) {
+          printStats = true;
+        }
+        else if (args[0].equals("-p")) {
+          options.setExecutor( ForkJoinPool.commonPool() );
+        }
+        else if (args[0].equals("-x")) {
+          options.setCoverMethod( EXACT_COVER );
+        }
+        else {
+          options.setCoverMethod( ESPRESSO );
+        }
+        args = Arrays.copyOfRange(args, 1, args.length);
+      }
+
+      TruthTable        t = null;
+      MinimizedTable    m = null;
+      if ( (args.length < 1) == (mintermFile == null) )
+      {
+        System.err.println(
+          "Usage: java MinimizedTable [-s] [-p] [-x|-e] [--stats] <boolean expression>" );
+        System.err.println(
+          "       java MinimizedTable [-s] [-p] [-x|-e] [--stats] <list of minterms>" );
+        System.err.println(
+          "       java MinimizedTable [-s] [-p] [-x|-e] [--stats] -f|-fb <file>" );
+        System.err.println(
+          "       java MinimizedTable -b [-t threads] [-c cubes] [-x|-e] [file]" );
+        System.err.println(
+          "  -s  Print only the minimized expression" );
+        System.err.println(
+          "  -x  Find an exact minimum cover" );
+        System.err.println(
+          "  -e  Use the Espresso heuristic instead of finding all " +
+                                                "prime implicants" );
+        System.err.println(
+          "  -p  Find prime implicants in parallel (with -s)" );
+        System.err.println(
+          "  -b  Minimize each line of file or standard input; see " +
+                                                        "MinimizeBatch" );
+        System.err.println(
+          "  -f  Read the minterms from a text file" );
+        System.err.println(
+          "  -fb Read the minterms from a file of little-endian " +
+                                                        "32-bit ints" );
+        System.err.println(
+          "  --stats  Print the time and work of each phase to " +
+                                                      "standard error" );
+        System.exit( 1 );
+      }
+
+      long minterm_1 = -1;
+      try
+      {
+        if ( mintermFile == null )
+          minterm_1 = Long.parseLong( args[0] );
+      }
+      catch ( NumberFormatException nfe ) { minterm_1 = -1; }
+
+      if ( mintermFile != null )
+      {
+        //  The minterms go straight into a bitset, which finds any
+        //  duplicates as they are read.
+        try
+        {
+          MintermReader reader = new MintermReader();
+          reader.read( mintermFile, mintermFormat );
+          if ( reader.getNumDuplicates() > 0 )
+          {
+            System.err.println( "Error: " + reader.getFirstDuplicate() +
+                                                " is a duplicate minterm." );
+            System.exit( 1 );
+          }
+          MintermSet mintermSet = reader.getMintermSet();
+          char[] variableNames = reader.getVariableNames();
+          t = new TruthTable(mintermSet, variableNames);
+          m = new MinimizedTable(mintermSet, variableNames, options);
+        }
+        catch (Exception e)
+        {
+          System.err.println(e.getMessage());
+          System.exit(1);
+        }
+      }
+      else if ( (args.length == 1) && (minterm_1 == -1) )
+      {
+        try
+        {
+          t = new TruthTable(args[0]);
+          m = new MinimizedTable(args[0], options);
+        }
+        catch (Exception e)
+        {
+          System.err.println(e.getMessage());
+          System.exit(1);
+        }
+      }
+      else
+      {
+        long[] minterms = new long[ args.length ];
+        int    i = 0;
+        HashSet<Long> seen = new HashSet<Long>();
+        try
+        {
+          for ( i=0; i<args.length; i++)
+          {
+            minterms[i] = Long.parseLong( args[i] );
+            if ( ! seen.add( minterms[i] ) )
+            {
+              System.err.println( "Error: " + minterms[i] + " is a duplicate minterm." );
+              System.exit( 1 );
+            }
+          }
+          try
+          {
+            t = new TruthTable(minterms);
+            m = new MinimizedTable(minterms, options);
+          }
+          catch (Exception e)
+          {
+            System.err.println(e.getMessage());
+            System.exit(1);
+          }
+        }
+        catch ( NumberFormatException nfe )
+        {
+          System.err.println( "Error: " + args[i] + " is not a valid minterm number." );
+          System.exit( 1 );
+        }
+      }
+      if ( options.getOut() != null ) {
+        System.out.println( "Minterm Numbers:  " + t );
+        System.out.println( "Expression:       " + m.expString() );
+        System.out.println( "Sum of products:  " + m.sopString() );
+        System.out.println( "Prime implicants: " + m.priString() );
+        System.out.println( "Minimized:        " + m             );
+        if ( m.getCoverMethod() == EXACT_COVER )
+          System.out.println( "Search nodes:     " +
+                              m.getNumSearchNodes() +
+                              (m.isProvedMinimum() ? "" : " (limit reached)") );
+      }
+      else {
+        System.out.println(m);
+      }
+      if ( printStats )
+        System.err.print( m.getStatistics() );
+      System.exit( 0 );
+    }
+  }
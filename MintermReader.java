@@ -0,0 +1,268 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+//  Class MintermReader
+//  ------------------------------------------------------------------
+/**
+  *   Reads a list of minterm numbers from a file straight into a
+  *   bitset, without making an int or String for each one.  The file
+  *   is memory-mapped a large piece at a time, so it can hold many
+  *   millions of minterms.
+  *
+  *   Two formats are read:
+  *
+  *     TEXT    Decimal numbers separated by spaces, commas, or line
+  *             breaks.
+  *     BINARY  Little-endian 32-bit ints, one after another.
+  *
+  *   The bitset grows as larger minterms are seen; the number of
+  *   variables is then the fewest that hold the largest minterm, as
+  *   for TruthTable(int[]).  A minterm that is already in the bitset is
+  *   counted as a duplicate, so checking for duplicates costs nothing.
+  *
+  *   @version  1.0
+  */
+  public class MintermReader
+  {
+    public static final int TEXT    = 0;
+    public static final int BINARY  = 1;
+
+    /** Bytes mapped at a time: a multiple of 4 so that no binary
+        minterm is split between pieces.                            */
+    protected static final int  PIECE_SIZE  = 1 << 28;
+
+    protected long[]  words           = new long[ 1 ];
+    protected int     maxMinterm      = -1;
+    protected int     numRead         = 0;
+    protected int     numDuplicates   = 0;
+    protected int     firstDuplicate  = -1;
+
+    //  State of a text number that may be split between pieces.
+    protected long    number          = 0;
+    protected boolean inNumber        = false;
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+  /**
+    *   Number of minterms read, including duplicates.
+    */
+    public int  getNumRead()          { return numRead;         }
+    public int  getNumDuplicates()    { return numDuplicates;   }
+  /**
+    *   The first minterm that was read twice, or -1 if there were no
+    *   duplicates.
+    */
+    public int  getFirstDuplicate()   { return firstDuplicate;  }
+
+
+  //  Method read()
+  //  ----------------------------------------------------------------
+  /**
+    *   Adds the minterms in a file to those already read.
+    *
+    *   @param  format  TEXT or BINARY.
+    */
+    public void read( File file, int format ) throws IOException
+    {
+      if ( format != TEXT && format != BINARY )
+        throw new RuntimeException( "Invalid minterm file format: " +
+                                                                format );
+      FileChannel channel = FileChannel.open( file.toPath(),
+                                              StandardOpenOption.READ );
+      try
+      {
+        long size = channel.size();
+        if ( format == BINARY && size % 4 != 0 )
+          throw new RuntimeException( file + " is not a list of " +
+                                                        "32-bit ints." );
+        for (long position = 0; position < size; position += PIECE_SIZE)
+        {
+          MappedByteBuffer buffer = channel.map(
+                          FileChannel.MapMode.READ_ONLY, position,
+                          Math.min( PIECE_SIZE, size - position ) );
+          if ( format == BINARY )
+          {
+            buffer.order( ByteOrder.LITTLE_ENDIAN );
+            while ( buffer.hasRemaining() )
+              add( buffer.getInt() );
+          }
+          else
+          {
+            while ( buffer.hasRemaining() )
+              readText( buffer.get() );
+          }
+        }
+        if ( inNumber )
+          endNumber();
+      }
+      finally
+      {
+        channel.close();
+      }
+    }
+
+
+  //  Method readText()
+  //  ----------------------------------------------------------------
+  /**
+    *   Takes the next byte of a text file.
+    */
+    protected void readText( byte b )
+    {
+      if ( b >= '0' && b <= '9' )
+      {
+        number = 10 * number + (b - '0');
+        if ( number > Integer.MAX_VALUE )
+          throw new RuntimeException( "Invalid minterm number: " +
+                                                    number + "..." );
+        inNumber = true;
+      }
+      else if ( b == ' ' || b == ',' || b == '\n' || b == '\r' ||
+                b == '\t' )
+      {
+        if ( inNumber )
+          endNumber();
+      }
+      else if ( b == '-' && ! inNumber )
+        throw new RuntimeException( "Invalid minterm number: -..." );
+      else
+        throw new RuntimeException( "Invalid character in minterm " +
+                                          "list: " + (char)(b & 0xFF) );
+    }
+
+  //  Method endNumber()
+  //  ----------------------------------------------------------------
+    protected void endNumber()
+    {
+      add( (int)number );
+      number    = 0;
+      inNumber  = false;
+    }
+
+
+  //  Method add()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sets the bit for a minterm, growing the bitset if need be.
+    */
+    public void add( int minterm )
+    {
+      if ( minterm < 0 )
+        throw new RuntimeException( "Invalid minterm number: " + minterm );
+      numRead++;
+      int w = minterm >>> 6;
+      if ( w >= words.length )
+      {
+        int numVars = TruthTable.leftBit( minterm ) + 1;
+        if ( numVars > TruthTable.MAX_DENSE_VARS )
+          throw new RuntimeException( "Too many variables (" + numVars +
+                          "); the limit is " + TruthTable.MAX_DENSE_VARS );
+        int maxWords = 1 << (TruthTable.MAX_DENSE_VARS - 6);
+        words = Arrays.copyOf( words, Math.min( maxWords,
+                              Math.max( 2 * words.length, w + 1 ) ) );
+      }
+      long bit = 1L << minterm;
+      if ( (words[w] & bit) != 0 )
+      {
+        if ( numDuplicates++ == 0 )
+          firstDuplicate = minterm;
+        return;
+      }
+      words[w] |= bit;
+      if ( minterm > maxMinterm )
+        maxMinterm = minterm;
+    }
+
+
+  //  Method getNumVars()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the fewest variables that hold the largest minterm
+    *   read: 0 if there were none, else at least 1.
+    */
+    public int getNumVars()
+    {
+      if ( maxMinterm < 0 )
+        return 0;
+      return Math.max( TruthTable.leftBit( maxMinterm ), 0 ) + 1;
+    }
+
+
+  //  Method getMintermSet()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the minterms read, as a set for a table of getNumVars()
+    *   variables.  The set is sparse if few rows are true, as with
+    *   MintermSet.create().
+    */
+    public MintermSet getMintermSet()
+    {
+      int numRows = (maxMinterm < 0) ? 0 : 1 << getNumVars();
+      DenseMintermSet set = new DenseMintermSet(
+                      Arrays.copyOf( words, (numRows + 63) >>> 6 ), numRows );
+      if ( 32L * set.cardinality() < numRows )
+        return new SparseMintermSet( set.toArray(), numRows );
+      return set;
+    }
+
+
+  //  Method getVariableNames()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the names TruthTable(int[]) would give the variables:
+    *   a, b, c, ... with a the most significant.
+    */
+    public char[] getVariableNames()
+    {
+      char[] names = new char[ getNumVars() ];
+      for (int i=0; i<names.length; i++)
+        names[i] = (char)('a' + i);
+      return names;
+    }
+
+  }
@@ -0,0 +1,186 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+//  Class MintermSet
+//  ------------------------------------------------------------------
+/**
+  *   The true rows (minterm numbers) of a truth table.  There are two
+  *   representations: DenseMintermSet, a bitset with one bit per row,
+  *   and SparseMintermSet, a sorted array of minterm numbers.  The
+  *   bitset is smaller when more than one row in 32 is true; create()
+  *   picks whichever is smaller, so the memory used depends on the
+  *   number of minterms rather than on the number of variables.
+  *
+  *   Row numbers are longs, so a set can belong to a table of up to
+  *   TruthTable.MAX_VARS variables, but only a sparse set can be that
+  *   large: a bitset has a bit for every row, and is limited to
+  *   TruthTable.MAX_DENSE_VARS variables.
+  *
+  *   @version  1.0
+  */
+  public abstract class MintermSet
+  {
+    protected long numRows;
+
+  //  Accessors
+  //  ----------------------------------------------------------------
+    public long getNumRows()  { return numRows; }
+
+  //  Abstract methods
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of rows in the set.
+    */
+    public abstract int cardinality();
+
+  /**
+    *   Returns true if row is in the set.
+    */
+    public abstract boolean contains( long row );
+
+  /**
+    *   Returns the first row in the set that is at least from, or -1
+    *   if there is none.  To visit the rows in order:
+    *
+    *     for (long r = s.nextSetBit(0); r >= 0; r = s.nextSetBit(r+1))
+    */
+    public abstract long nextSetBit( long from );
+
+  /**
+    *   Returns the position of row in the set, counting from 0 in
+    *   increasing order, or -1 if row is not in the set.  Arrays with
+    *   one element per minterm can be indexed this way instead of by
+    *   row number.
+    */
+    public abstract int indexOf( long row );
+
+  /**
+    *   Returns the row at position index of the set, counting from 0
+    *   in increasing order: the inverse of indexOf().  Code that has
+    *   an index into an array with one element per minterm can get
+    *   the minterm number back this way, without a list of minterms.
+    */
+    public abstract long select( int index );
+
+  /**
+    *   Returns the rows in the set, in increasing order.
+    */
+    public abstract long[] toArray();
+
+
+  //  Method create()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns a set of minterm numbers in whichever representation
+    *   takes less space.
+    *
+    *   @param  minterms  Minterm numbers, in any order, possibly
+    *                     repeated.  The array is not modified.
+    *   @param  numRows   Number of rows in the table; every minterm
+    *                     number must be less than this.
+    */
+    public static MintermSet create( long[] minterms, long numRows )
+    {
+      if ( 32L * minterms.length < numRows ||
+           numRows > 1L << TruthTable.MAX_DENSE_VARS )
+        return new SparseMintermSet( minterms, numRows );
+      DenseMintermSet set = new DenseMintermSet( (int)numRows );
+      for (int i=0; i<minterms.length; i++)
+      {
+        if ( minterms[i] < 0 || minterms[i] >= numRows )
+          throw new RuntimeException( "Row " + minterms[i] +
+                          " is not in a table of " + numRows + " rows." );
+        set.add( (int)minterms[i] );
+      }
+      return set;
+    }
+
+  /**
+    *   The same, for minterm numbers given as ints.
+    */
+    public static MintermSet create( int[] minterms, int numRows )
+    {
+      long[] rows = new long[ minterms.length ];
+      for (int i=0; i<minterms.length; i++)
+        rows[i] = minterms[i];
+      return create( rows, numRows );
+    }
+
+
+  //  Method toWords()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the set as a bitset, 64 rows per word: row r is bit
+    *   (r % 64) of word (r / 64).  The table can have at most
+    *   TruthTable.MAX_DENSE_VARS variables.
+    */
+    public long[] toWords()
+    {
+      checkDense();
+      long[] words = new long[ (int)((numRows + 63) >>> 6) ];
+      for (long r = nextSetBit( 0 ); r >= 0; r = nextSetBit( r + 1 ))
+        words[(int)(r >>> 6)] |= 1L << r;
+      return words;
+    }
+
+
+  //  Method toBooleanArray()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the set as one boolean per row.  The table can have at
+    *   most TruthTable.MAX_DENSE_VARS variables.
+    */
+    public boolean[] toBooleanArray()
+    {
+      checkDense();
+      boolean[] table = new boolean[ (int)numRows ];
+      for (long r = nextSetBit( 0 ); r >= 0; r = nextSetBit( r + 1 ))
+        table[(int)r] = true;
+      return table;
+    }
+
+    protected void checkDense()
+    {
+      if ( numRows > 1L << TruthTable.MAX_DENSE_VARS )
+        throw new RuntimeException( "A table of " + numRows +
+                                  " rows is too large to list every row." );
+    }
+
+  }
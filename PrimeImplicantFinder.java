@@ -0,0 +1,679 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+//  Class PrimeImplicantFinder
+//  ------------------------------------------------------------------
+/**
+  *   Finds all prime implicants of a set of minterms using the
+  *   tabular form of the Quine-McCluskey method.  The terms of each
+  *   pass are grouped by mask and, within a mask, by the number of
+  *   1's in their values.  Two terms can reduce only if they have
+  *   the same mask and their counts of 1's differ by exactly one, so
+  *   each term is compared only with the two neighboring groups
+  *   instead of with every other term.
+  *
+  *   Terms are visited in the same order as the all-pairs method
+  *   used to visit them, so the prime implicants (and the commentary)
+  *   come out in the same order as before.
+  *
+  *   If the finder is given an ExecutorService, large passes are cut
+  *   into ranges of consecutive terms that are reduced in parallel.
+  *   Each range produces its own list of terms, and the lists are
+  *   joined in range order with duplicates removed, so the result is
+  *   exactly the same as when the pass is done in one thread.  The
+  *   commentary is produced only in one thread, so a finder that has
+  *   somewhere to send it does not use the executor.
+  *
+  *   Terms are kept in a CubeStore.  Functions of up to 64 variables
+  *   use a store of one long per value and mask, and each comparison
+  *   is an XOR, an AND, and a bit count.  Wider functions, given as
+  *   Cube objects or as a store of more than one word per term, go
+  *   through the same passes a word at a time; ProductTerm and the
+  *   commentary have no room for them, so they produce Cubes and no
+  *   commentary.
+  *
+  *   @version  1.0
+  */
+  public class PrimeImplicantFinder
+  {
+    /** Passes with fewer terms than this are not split up.        */
+    public static final int PARALLEL_THRESHOLD  = 4096;
+    /** The smallest range of terms given to one task.              */
+    protected static final int MIN_CHUNK_SIZE   = 1024;
+
+    protected char[]          variableNames;  //  null for Cubes only
+    protected int             numVars;
+    protected int             numWords      = 1;
+    protected MinimizeListener listener;    //  null for no commentary
+    protected ExecutorService executor;     //  null for one thread
+    protected int             numPasses     = 0;
+    protected int[]           termsPerPass  = new int[ 0 ];
+    protected long[]          comparedPerPass = new long[ 0 ];
+    protected long[]          mergedPerPass = new long[ 0 ];
+
+    //  The current pass, shared (read-only) by the tasks reducing it.
+    protected CubeStore       terms;
+    protected CubeSet         groupIds      = new CubeSet();
+    protected int[]           groupStart    = new int[ 1 ];
+    protected int[]           members       = new int[ 0 ];
+    protected int[]           groupOf       = new int[ 0 ];
+
+
+  //  Constructors
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  variableNames Names of the variables of the function.
+    *   @param  out           Receives a description of each step, or
+    *                         null if no commentary is wanted.
+    */
+    public PrimeImplicantFinder( char[] variableNames, PrintStream out )
+    {
+      this( variableNames, out, null );
+    }
+
+  /**
+    *   @param  variableNames Names of the variables of the function.
+    *   @param  out           Receives a description of each step, or
+    *                         null if no commentary is wanted.
+    *   @param  executor      Runs the tasks of a parallel pass, or
+    *                         null to do all the work in the calling
+    *                         thread.  A ForkJoinPool, such as
+    *                         ForkJoinPool.commonPool(), works well.
+    */
+    public PrimeImplicantFinder( char[] variableNames, PrintStream out,
+                                                ExecutorService executor )
+    {
+      this.variableNames  = variableNames;
+      this.numVars        = variableNames.length;
+      this.listener       = (out == null) ? null :
+                                    new TracePrinter( out, variableNames );
+      this.executor       = executor;
+    }
+
+  /**
+    *   Creates a finder for functions of any number of variables,
+    *   given and returned as Cubes, with no commentary.
+    *
+    *   @param  numVars       Number of variables of the function.
+    *   @param  executor      Runs the tasks of a parallel pass, or
+    *                         null to do all the work in the calling
+    *                         thread.
+    */
+    public PrimeImplicantFinder( int numVars, ExecutorService executor )
+    {
+      this.variableNames  = null;
+      this.numVars        = numVars;
+      this.listener       = null;
+      this.executor       = executor;
+    }
+
+  //  getNumPasses()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of reduction passes made by the most
+    *   recent call to findPrimeImplicants().
+    */
+    public int getNumPasses() { return numPasses; }
+
+
+  //  Per-pass counts
+  //  ----------------------------------------------------------------
+  /**
+    *   For the most recent call to findPrimeImplicants(), element i
+    *   of these arrays describes pass i+1: the number of terms it
+    *   started with, the number of comparisons it made between terms
+    *   with the same mask whose numbers of 1's differ by one, and the
+    *   number of those that merged into a reduced term.  Each term is
+    *   the target of its own comparisons, so every pair is compared
+    *   and counted twice.
+    */
+    public int[] getTermsPerPass()
+    {
+      return Arrays.copyOf( termsPerPass, numPasses );
+    }
+    public long[] getComparedPerPass()
+    {
+      return Arrays.copyOf( comparedPerPass, numPasses );
+    }
+    public long[] getMergedPerPass()
+    {
+      return Arrays.copyOf( mergedPerPass, numPasses );
+    }
+
+
+  //  setListener()
+  //  ----------------------------------------------------------------
+  /**
+    *   Sends the steps to listener instead of the PrintStream given to
+    *   the constructor, or turns the commentary off if listener is
+    *   null.  As with a PrintStream, passes are not run in parallel
+    *   while there is a listener, so its events come in order.  Terms
+    *   of more than one word are not reported.
+    */
+    public void setListener( MinimizeListener listener )
+    {
+      this.listener = listener;
+    }
+
+
+  //  Method findPrimeImplicants()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the prime implicants of an array of minterms as
+    *   ProductTerm objects.
+    *
+    *   @param  minterms  The minterms of the function.  The array is
+    *                     not modified.
+    *   @return           The prime implicants.
+    */
+    public Vector<ProductTerm> findPrimeImplicants( ProductTerm[] minterms )
+    {
+      return findPrimeImplicants( new CubeStore( minterms ) )
+                                        .toProductTerms( variableNames );
+    }
+
+  /**
+    *   Returns the prime implicants of an array of minterms given as
+    *   Cubes, which may have any number of variables.
+    *
+    *   @param  minterms  The minterms of the function, each over the
+    *                     number of variables given to the constructor.
+    *                     The array is not modified.
+    *   @return           The prime implicants.
+    */
+    public Vector<Cube> findPrimeImplicants( Cube[] minterms )
+    {
+      return findPrimeImplicants( new CubeStore( minterms, numVars ) )
+                                                    .toCubes( numVars );
+    }
+
+
+  //  Method findPrimeImplicants()
+  //  ----------------------------------------------------------------
+  /**
+    *   Applies the rule of complementation, A(x + x') == A, to the
+    *   minterms until no more terms can be reduced.  Terms that do not
+    *   reduce in one pass are passed along to the next one, so the
+    *   terms of the last pass are the prime implicants.
+    *
+    *   Each pass reads one CubeStore and writes another, so no objects
+    *   are created for the terms themselves.  ProductTerms are created
+    *   only for the commentary, and only if there is somewhere to send
+    *   it.
+    *
+    *   @param  minterms  The minterms of the function, in a store of
+    *                     Cube.numWords( numVars ) words per term.  The
+    *                     store is not modified.
+    *   @return           The prime implicants.
+    */
+    public CubeStore findPrimeImplicants( CubeStore minterms )
+    {
+      numWords = minterms.getNumWords();
+      if ( numWords != Cube.numWords( numVars ) )
+        throw new RuntimeException( "Terms of " + numWords +
+                " words do not fit " + numVars + " variables." );
+      if ( groupIds.getNumWords() != numWords )
+        groupIds = new CubeSet( 16, numWords );
+      terms = new CubeStore( minterms.size(), numWords );
+      for (int m=0; m<minterms.size(); m++)
+        terms.add( minterms, m );
+      //  Single-threaded passes alternate between two chunks so that
+      //  their space is reused from pass to pass.
+      Chunk current = new Chunk( 0, 0, 0 );
+      Chunk next    = new Chunk( 0, 0, 0 );
+      numPasses = 0;
+      termsPerPass    = new int[ numVars ];
+      comparedPerPass = new long[ numVars ];
+      mergedPerPass   = new long[ numVars ];
+
+      for ( int pass = 1; pass <= numVars; pass++ )
+      {
+        numPasses = pass;
+        MinimizeEvents.PassEvent event = new MinimizeEvents.PassEvent();
+        event.begin();
+        int numTerms = terms.size();
+        groupTerms();
+
+        Chunk result;
+        if ( executor == null || listener != null ||
+                                        numTerms < PARALLEL_THRESHOLD )
+        {
+          next.reset( 0, numTerms, pass );
+          result = next.call();
+          next = current;
+          current = result;
+        }
+        else
+          result = reduceInParallel( pass );
+
+        termsPerPass[ pass - 1 ]    = numTerms;
+        comparedPerPass[ pass - 1 ] = result.numCompared;
+        mergedPerPass[ pass - 1 ]   = result.numReduced;
+        terms = result.reduced;
+        if ( event.shouldCommit() )
+        {
+          event.numVars   = numVars;
+          event.level     = pass;
+          event.termsIn   = numTerms;
+          event.termsOut  = terms.size();
+          event.compared  = result.numCompared;
+          event.merged    = result.numReduced;
+          event.commit();
+        }
+        if ( result.reachedIdentity || result.numReduced == 0 )
+          break;
+      }
+      CubeStore primes = terms;
+      terms = null;
+      return primes;
+    }
+
+
+  //  Method groupTerms()
+  //  ----------------------------------------------------------------
+  /**
+    *   Indexes the terms of the current pass by mask and number of 1's.
+    *   A group is identified by its number in groupIds, where it is
+    *   stored as a "term" whose value is the number of 1's.  The
+    *   members of group g are members[groupStart[g]] through
+    *   members[groupStart[g+1]-1], in the order they appear in the
+    *   pass.
+    */
+    protected void groupTerms()
+    {
+      int numTerms = terms.size();
+      if ( members.length < numTerms )
+      {
+        members = new int[ numTerms ];
+        groupOf = new int[ numTerms ];
+      }
+      groupIds.clear();
+      if ( numWords == 1 )
+      {
+        for (int t=0; t<numTerms; t++)
+        {
+          int g = groupIds.add( BitManipulation.countBits( terms.getValue( t ) ),
+                                terms.getMask( t ) );
+          groupOf[t] = (g >= 0) ? g : -(g + 1);
+        }
+      }
+      else
+      {
+        long[] value  = new long[ numWords ];
+        long[] mask   = new long[ numWords ];
+        for (int t=0; t<numTerms; t++)
+        {
+          terms.getCube( t, value, mask );
+          value[0] = countBits( value );
+          Arrays.fill( value, 1, numWords, 0 );
+          int g = groupIds.add( value, mask );
+          groupOf[t] = (g >= 0) ? g : -(g + 1);
+        }
+      }
+      int numGroups = groupIds.size();
+      if ( groupStart.length < numGroups + 1 )
+        groupStart = new int[ numGroups + 1 ];
+      Arrays.fill( groupStart, 0, numGroups + 1, 0 );
+      for (int t=0; t<numTerms; t++)
+        groupStart[ groupOf[t] + 1 ]++;
+      for (int g=0; g<numGroups; g++)
+        groupStart[g + 1] += groupStart[g];
+      for (int t=0; t<numTerms; t++)
+        members[ groupStart[ groupOf[t] ]++ ] = t;
+      for (int g=numGroups; g>0; g--)
+        groupStart[g] = groupStart[g - 1];
+      groupStart[0] = 0;
+    }
+
+
+  //  Method countBits()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the number of 1's in a multi-word value.
+    */
+    protected static int countBits( long[] words )
+    {
+      int n = 0;
+      for (int w=0; w<words.length; w++)
+        n += BitManipulation.countBits( words[w] );
+      return n;
+    }
+
+
+  //  Method reduceInParallel()
+  //  ----------------------------------------------------------------
+  /**
+    *   Reduces the current pass as a set of tasks, one per range of
+    *   terms, and joins their results in range order.  A reduced term
+    *   that an earlier range already produced is dropped, just as it
+    *   would have been in a single-threaded pass; terms that did not
+    *   reduce are always kept.
+    */
+    protected Chunk reduceInParallel( int pass )
+    {
+      int numTerms    = terms.size();
+      int parallelism = (executor instanceof ForkJoinPool)
+                      ? ((ForkJoinPool)executor).getParallelism()
+                      : Runtime.getRuntime().availableProcessors();
+      int chunkSize   = Math.max( MIN_CHUNK_SIZE,
+                          (numTerms + 4 * parallelism - 1) / (4 * parallelism) );
+      Vector<Chunk> chunks = new Vector<Chunk>();
+      for (int lo=0; lo<numTerms; lo+=chunkSize)
+        chunks.add( new Chunk( lo, Math.min( lo + chunkSize, numTerms ),
+                                                                  pass ) );
+      try
+      {
+        for ( Future<Chunk> f : executor.invokeAll( chunks ) )
+          f.get();
+      }
+      catch ( InterruptedException e )
+      {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException( "Interrupted in pass " + pass );
+      }
+      catch ( ExecutionException e )
+      {
+        if ( e.getCause() instanceof RuntimeException )
+          throw (RuntimeException) e.getCause();
+        throw new RuntimeException( e.getCause() );
+      }
+
+      //  Join the ranges, then drop the duplicates.
+      Chunk     joined    = new Chunk( 0, numTerms, pass );
+      CubeStore reduced   = joined.reduced;
+      IntVector unreduced = new IntVector();
+      for ( Chunk chunk : chunks )
+      {
+        int base = reduced.size();
+        for (int i=0; i<chunk.reduced.size(); i++)
+          reduced.add( chunk.reduced, i );
+        for (int u=0; u<chunk.unreduced.getSize(); u++)
+          unreduced.append( base + chunk.unreduced.elementAt( u ) );
+        joined.numReduced += chunk.numReduced;
+        joined.numCompared += chunk.numCompared;
+        if ( chunk.reachedIdentity )
+        {
+          joined.reachedIdentity = true;
+          break;
+        }
+      }
+      boolean[] keep = new boolean[ reduced.size() ];
+      CubeSet seen = joined.seen;
+      long[] value  = new long[ numWords ];
+      long[] mask   = new long[ numWords ];
+      int u = 0;
+      for (int i=0; i<reduced.size(); i++)
+      {
+        boolean isNew;
+        if ( numWords == 1 )
+          isNew = seen.add( reduced.getValue( i ),
+                            reduced.getMask( i ) ) >= 0;
+        else
+        {
+          reduced.getCube( i, value, mask );
+          isNew = seen.add( value, mask ) >= 0;
+        }
+        if ( u < unreduced.getSize() && unreduced.elementAt( u ) == i )
+        {
+          keep[i] = true;
+          u++;
+        }
+        else
+          keep[i] = isNew;
+      }
+      reduced.compact( keep );
+      return joined;
+    }
+
+
+  //  Class Chunk
+  //  ----------------------------------------------------------------
+  /**
+    *   Reduces one range of targets of the current pass, producing the
+    *   reduced terms and the targets that did not reduce, in the order
+    *   a single-threaded pass would produce them.
+    */
+    protected class Chunk implements Callable<Chunk>
+    {
+      int       lo, hi, pass;
+      int       numReduced      = 0;
+      long      numCompared     = 0;
+      boolean   reachedIdentity = false;
+      CubeStore reduced         = new CubeStore( 16, numWords );
+      CubeSet   seen            = new CubeSet( 16, numWords );
+      IntVector unreduced       = new IntVector();  //  Indexes in reduced
+
+      Chunk( int lo, int hi, int pass )
+      {
+        reset( lo, hi, pass );
+      }
+
+      void reset( int lo, int hi, int pass )
+      {
+        this.lo = lo;
+        this.hi = hi;
+        this.pass = pass;
+        numReduced = 0;
+        numCompared = 0;
+        reachedIdentity = false;
+        reduced.clear();
+        seen.clear();
+        unreduced.clear();
+      }
+
+      public Chunk call()
+      {
+        if ( numWords == 1 )
+          reduceNarrow();
+        else
+          reduceWide();
+        return this;
+      }
+
+      //  Terms of one word: values and masks are longs.
+      void reduceNarrow()
+      {
+        for (int t=lo; t<hi; t++)
+        {
+          long targetValue = terms.getValue( t );
+          long targetMask  = terms.getMask( t );
+          int ones = BitManipulation.countBits( targetValue );
+          int b = 0, belowEnd = 0, a = 0, aboveEnd = 0;
+          int g = groupIds.indexOf( ones - 1, targetMask );
+          if ( g >= 0 )
+          {
+            b = groupStart[g];
+            belowEnd = groupStart[g + 1];
+          }
+          g = groupIds.indexOf( ones + 1, targetMask );
+          if ( g >= 0 )
+          {
+            a = groupStart[g];
+            aboveEnd = groupStart[g + 1];
+          }
+
+          //  Merge the two neighboring groups so candidates are tried
+          //  in the order they appear in this pass.  A target reduces
+          //  with every candidate that reduces with it, so it is
+          //  "combined" exactly when one of them does.
+          boolean combined = false;
+          while ( b < belowEnd || a < aboveEnd )
+          {
+            int c;
+            if ( a >= aboveEnd ||
+                 (b < belowEnd && members[b] < members[a]) )
+              c = members[ b++ ];
+            else
+              c = members[ a++ ];
+            numCompared++;
+            long candidateValue = terms.getValue( c );
+            long reducedValue, reducedMask;
+            if ( targetMask == 0 )
+            {
+              reducedValue  = 0;
+              reducedMask   = 0;
+            }
+            else
+            {
+              long difference = (targetValue ^ candidateValue) & targetMask;
+              if ( BitManipulation.countBits( difference ) != 1 )
+                continue;
+              reducedValue  = ~difference & candidateValue;
+              reducedMask   = ~difference & targetMask;
+            }
+            numReduced++;
+            combined = true;
+            //  Add this reduced term only if it is not already
+            //  included.
+            boolean included = seen.add( reducedValue, reducedMask ) < 0;
+            if ( listener != null )
+              listener.termReduced( pass, candidateValue, targetValue,
+                          targetMask, reducedValue, reducedMask, included );
+            if ( included )
+              continue;
+            reduced.add( reducedValue, reducedMask );
+            if ( reducedMask == 0 )
+            {
+              if ( listener != null )
+                listener.reducedToIdentity();
+              reachedIdentity = true;
+              return;
+            }
+          }
+          if ( ! combined )
+          {
+            seen.add( targetValue, targetMask );
+            unreduced.append( reduced.add( targetValue, targetMask ) );
+            if ( listener != null )
+              listener.termNotReduced( pass, targetValue, targetMask );
+          }
+        }
+      }
+
+      //  Terms of more than one word: the same steps as reduceNarrow(),
+      //  a word at a time, without the commentary.
+      void reduceWide()
+      {
+        long[] targetValue  = new long[ numWords ];
+        long[] targetMask   = new long[ numWords ];
+        long[] groupKey     = new long[ numWords ];
+        long[] difference   = new long[ numWords ];
+        long[] reducedValue = new long[ numWords ];
+        long[] reducedMask  = new long[ numWords ];
+        for (int t=lo; t<hi; t++)
+        {
+          terms.getCube( t, targetValue, targetMask );
+          int ones = countBits( targetValue );
+          boolean isIdentity = countBits( targetMask ) == 0;
+          int b = 0, belowEnd = 0, a = 0, aboveEnd = 0;
+          groupKey[0] = ones - 1;
+          int g = groupIds.indexOf( groupKey, targetMask );
+          if ( g >= 0 )
+          {
+            b = groupStart[g];
+            belowEnd = groupStart[g + 1];
+          }
+          groupKey[0] = ones + 1;
+          g = groupIds.indexOf( groupKey, targetMask );
+          if ( g >= 0 )
+          {
+            a = groupStart[g];
+            aboveEnd = groupStart[g + 1];
+          }
+
+          boolean combined = false;
+          while ( b < belowEnd || a < aboveEnd )
+          {
+            int c;
+            if ( a >= aboveEnd ||
+                 (b < belowEnd && members[b] < members[a]) )
+              c = members[ b++ ];
+            else
+              c = members[ a++ ];
+            numCompared++;
+            if ( ! isIdentity )
+            {
+              int differences = 0;
+              for (int w=0; w<numWords; w++)
+              {
+                difference[w] = (targetValue[w] ^ terms.getValue( c, w )) &
+                                                              targetMask[w];
+                differences += BitManipulation.countBits( difference[w] );
+              }
+              if ( differences != 1 )
+                continue;
+            }
+            for (int w=0; w<numWords; w++)
+            {
+              reducedValue[w] = isIdentity ? 0 :
+                                  ~difference[w] & terms.getValue( c, w );
+              reducedMask[w]  = isIdentity ? 0 :
+                                  ~difference[w] & targetMask[w];
+            }
+            numReduced++;
+            combined = true;
+            if ( seen.add( reducedValue, reducedMask ) < 0 )
+              continue;
+            reduced.add( reducedValue, reducedMask );
+            if ( countBits( reducedMask ) == 0 )
+            {
+              reachedIdentity = true;
+              return;
+            }
+          }
+          if ( ! combined )
+          {
+            seen.add( targetValue, targetMask );
+            unreduced.append( reduced.add( targetValue, targetMask ) );
+          }
+        }
+      }
+    }
+
+  }
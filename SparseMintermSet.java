@@ -0,0 +1,120 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Arrays;
+
+//  Class SparseMintermSet
+//  ------------------------------------------------------------------
+/**
+  *   A set of minterm numbers kept as a sorted array, for functions
+  *   with few true rows.  Ten minterms of a 30-variable function take
+  *   80 bytes here, against 128 MB for a bitset.  Lookups are binary
+  *   searches.  This is the only representation for tables of more
+  *   than TruthTable.MAX_DENSE_VARS variables.
+  *
+  *   @version  1.0
+  */
+  public class SparseMintermSet extends MintermSet
+  {
+    protected long[] rows;
+
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  minterms  Minterm numbers, in any order, possibly
+    *                     repeated.  The array is not modified.
+    *   @param  numRows   Number of rows in the table.
+    */
+    public SparseMintermSet( long[] minterms, long numRows )
+    {
+      this.numRows = numRows;
+      long[] sorted = minterms.clone();
+      Arrays.sort( sorted );
+      int n = 0;
+      for (int i=0; i<sorted.length; i++)
+      {
+        if ( sorted[i] < 0 || sorted[i] >= numRows )
+          throw new RuntimeException( "Row " + sorted[i] +
+                          " is not in a table of " + numRows + " rows." );
+        if ( n == 0 || sorted[i] != sorted[n - 1] )
+          sorted[ n++ ] = sorted[i];
+      }
+      rows = (n == sorted.length) ? sorted : Arrays.copyOf( sorted, n );
+    }
+
+
+  //  MintermSet methods
+  //  ----------------------------------------------------------------
+    public int cardinality()
+    {
+      return rows.length;
+    }
+
+    public boolean contains( long row )
+    {
+      return Arrays.binarySearch( rows, row ) >= 0;
+    }
+
+    public int indexOf( long row )
+    {
+      int i = Arrays.binarySearch( rows, row );
+      return (i < 0) ? -1 : i;
+    }
+
+    public long select( int index )
+    {
+      return rows[index];
+    }
+
+    public long nextSetBit( long from )
+    {
+      int i = Arrays.binarySearch( rows, from );
+      if ( i < 0 )
+        i = -(i + 1);
+      return (i < rows.length) ? rows[i] : -1;
+    }
+
+    public long[] toArray()
+    {
+      return rows.clone();
+    }
+
+  }
@@ -0,0 +1,232 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.PrintStream;
+
+//  Class TracePrinter
+//  ------------------------------------------------------------------
+/**
+  *   A MinimizeListener that prints a line of commentary for each step
+  *   of a minimization.  This is the trace MinimizedTable prints when
+  *   it is given a PrintStream.
+  *
+  *   A TracePrinter is for one minimization at a time: it remembers
+  *   what kind of step came last so it can word the next line.
+  *
+  *   @version  1.0
+  */
+  public class TracePrinter implements MinimizeListener
+  {
+    protected PrintStream out;
+    protected char[]      variableNames;
+    protected long        mintermMask;
+    protected boolean     afterEssential  = false;
+
+  //  Constructor
+  //  ----------------------------------------------------------------
+  /**
+    *   @param  out           Receives the commentary.
+    *   @param  variableNames Names of the variables of the function,
+    *                         used to print product terms.
+    */
+    public TracePrinter( PrintStream out, char[] variableNames )
+    {
+      this.out            = out;
+      this.variableNames  = variableNames;
+      this.mintermMask    = variableNames.length == 0 ? 0 :
+                                      -1L >>> (64 - variableNames.length);
+    }
+
+
+  //  Formatting
+  //  ================================================================
+
+  //  Method term()
+  //  ----------------------------------------------------------------
+    protected String term( long value, long mask )
+    {
+      return new ProductTerm( value, mask, variableNames ).toString();
+    }
+
+  //  Method minterm()
+  //  ----------------------------------------------------------------
+    protected String minterm( long row )
+    {
+      return term( row, mintermMask );
+    }
+
+  //  Method implicant()
+  //  ----------------------------------------------------------------
+  /**
+    *   Formats a prime implicant and its minterms the same way as
+    *   PrimeImplicant.toString().
+    */
+    protected String implicant( long value, long mask, long[] coverRows )
+    {
+      StringBuffer sb = new StringBuffer( "[ " + term( value, mask ) +
+                                                               " => ");
+      for (int i=0; i<coverRows.length; i++)
+      {
+        sb.append( minterm( coverRows[i] ) );
+        if ( i < (coverRows.length-1) )
+          sb.append( ", " );
+      }
+      sb.append( " ]" );
+      return new String( sb );
+    }
+
+
+  //  Events
+  //  ================================================================
+
+    public void phaseStarted( int phase )
+    {
+      afterEssential = false;
+      switch ( phase )
+      {
+        case FIND_PRIME_IMPLICANTS:
+          out.println( "SIMPLIFY PRODUCT TERMS:" );
+          break;
+        case SELECT_COVER:
+          out.println( "\nDETERMINE ESSENTIAL PRIME IMPLICANTS:" );
+          break;
+        case ESPRESSO:
+          out.println( "ESPRESSO:" );
+          break;
+        default:
+          throw new RuntimeException("Program Error: Bad switch");
+      }
+    }
+
+    public void termReduced( int pass, long value1, long value2, long mask,
+                             long reducedValue, long reducedMask,
+                             boolean alreadyIncluded )
+    {
+      out.println( "  (" + term( value1, mask ) + " + " +
+                  term( value2, mask ) + ") can be reduced to " +
+                  term( reducedValue, reducedMask ) + " in pass " + pass +
+                  ": " + (alreadyIncluded ? "Already included" : "Done") );
+    }
+
+    public void reducedToIdentity()
+    {
+      out.println( "  Expression reduces to identity." );
+    }
+
+    public void termNotReduced( int pass, long value, long mask )
+    {
+      out.println( "  Unable to reduce " + term( value, mask ) +
+                                                      " in pass " + pass );
+    }
+
+    public void mintermCoverCount( long minterm, int numCovers )
+    {
+      out.println( "  Minterm " + minterm + " is covered by " + numCovers +
+                          " prime implicant" + (numCovers!=1?"s.":".") );
+    }
+
+    public void mintermsRemaining( int numRemaining )
+    {
+      out.println( "  " + numRemaining + " minterm" +
+                    (numRemaining!=1?"s":"") +
+                    (afterEssential ? " to go." : " remain") );
+    }
+
+    public void essentialChosen( long value, long mask, long[] coverRows,
+                                                          long minterm )
+    {
+      afterEssential = true;
+      out.println( "  " + implicant( value, mask, coverRows ) +
+              " is the only implicant that covers " + minterm( minterm ) );
+    }
+
+    public void implicantDominated( long value, long mask, long[] coverRows,
+                        long byValue, long byMask, long[] byCoverRows )
+    {
+      out.println( "Error: " + implicant( byValue, byMask, byCoverRows ) +
+                    " dominates " + implicant( value, mask, coverRows ) );
+    }
+
+    public void mintermDominated( long minterm, long byMinterm )
+    {
+      out.println( "  " + minterm( minterm ) + " dominates " +
+                                                  minterm( byMinterm ) );
+    }
+
+    public void cyclicCore( int numImplicants, int numMinterms )
+    {
+      out.println( "  Cyclic core: " + numImplicants +
+                  " prime implicant" + (numImplicants!=1?"s, ":", ") +
+                  numMinterms + " minterm" + (numMinterms!=1?"s":"") );
+    }
+
+    public void greedyChosen( long value, long mask, long[] coverRows,
+                                                          long minterm )
+    {
+      afterEssential = false;
+      out.println( "  " + implicant( value, mask, coverRows ) +
+                                          " covers " + minterm( minterm ) );
+    }
+
+    public void exactCoverFound( int numMinterms, int numChosen,
+                        int numImplicants, long numNodes, boolean proved )
+    {
+      out.println( "  Exact cover of " + numMinterms + " minterm" +
+                  (numMinterms!=1?"s":"") + " by " + numChosen + " of " +
+                  numImplicants + " prime implicants, " + numNodes +
+                  " search nodes" +
+                  (proved ? ":" : " (node limit reached; may not be minimum):") );
+    }
+
+    public void exactChosen( long value, long mask, long[] coverRows )
+    {
+      out.println( "  " + implicant( value, mask, coverRows ) +
+                                              " is in the minimum cover" );
+    }
+
+    public void espressoPass( int pass, int numCubes, int numLiterals )
+    {
+      out.println( (pass == 0 ? "  Expanded and made irredundant: " :
+                                "  Pass " + pass + ": ") +
+                  numCubes + " cube" + (numCubes!=1?"s":"") + ", " +
+                  numLiterals + " literals" );
+    }
+
+  }
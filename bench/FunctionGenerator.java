@@ -0,0 +1,196 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.util.Random;
+
+//  Class FunctionGenerator
+//  ------------------------------------------------------------------
+/**
+  *   Boolean functions for the benchmarks.  Random functions are made
+  *   from a seed, so a run can be repeated exactly; the structured
+  *   families are ones whose minimized forms are well known and which
+  *   stress different parts of the minimizer.  Each function is an
+  *   array of minterm numbers in increasing order, over variables a,
+  *   b, c, ... with a the most significant.
+  *
+  *   @version  1.0
+  */
+  public class FunctionGenerator
+  {
+
+  //  Method random()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns a function in which each row is true with probability
+    *   density.  There is always at least one minterm.
+    */
+    public static int[] random( int numVars, double density, long seed )
+    {
+      Random random = new Random( seed );
+      IntVector rows = new IntVector();
+      for (int r=0; r<(1 << numVars); r++)
+        if ( random.nextDouble() < density )
+          rows.append( r );
+      if ( rows.getSize() == 0 )
+        rows.append( random.nextInt( 1 << numVars ) );
+      return rows.toArray();
+    }
+
+  //  Method parity()
+  //  ----------------------------------------------------------------
+  /**
+    *   Odd parity: no two minterms combine, so every minterm is a
+    *   prime implicant.  The worst case for the number of terms.
+    */
+    public static int[] parity( int numVars )
+    {
+      IntVector rows = new IntVector();
+      for (int r=0; r<(1 << numVars); r++)
+        if ( (Integer.bitCount( r ) & 1) == 1 )
+          rows.append( r );
+      return rows.toArray();
+    }
+
+  //  Method majority()
+  //  ----------------------------------------------------------------
+  /**
+    *   True when more than half the variables are 1.  Many prime
+    *   implicants, all of them essential.
+    */
+    public static int[] majority( int numVars )
+    {
+      IntVector rows = new IntVector();
+      for (int r=0; r<(1 << numVars); r++)
+        if ( 2 * Integer.bitCount( r ) > numVars )
+          rows.append( r );
+      return rows.toArray();
+    }
+
+  //  Method adder()
+  //  ----------------------------------------------------------------
+  /**
+    *   Bit k of the sum of two unsigned numbers of numBits bits each;
+    *   k == numBits is the carry out.  The first operand is the more
+    *   significant half of the variables.
+    */
+    public static int[] adder( int numBits, int k )
+    {
+      IntVector rows = new IntVector();
+      int mask = (1 << numBits) - 1;
+      for (int r=0; r<(1 << (2 * numBits)); r++)
+      {
+        int sum = (r >>> numBits) + (r & mask);
+        if ( ((sum >>> k) & 1) == 1 )
+          rows.append( r );
+      }
+      return rows.toArray();
+    }
+
+  //  Method comparator()
+  //  ----------------------------------------------------------------
+  /**
+    *   True when the first operand of numBits bits is greater than the
+    *   second.
+    */
+    public static int[] comparator( int numBits )
+    {
+      IntVector rows = new IntVector();
+      int mask = (1 << numBits) - 1;
+      for (int r=0; r<(1 << (2 * numBits)); r++)
+        if ( (r >>> numBits) > (r & mask) )
+          rows.append( r );
+      return rows.toArray();
+    }
+
+  //  Method randomExpression()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns a random sum of numTerms products over numVars
+    *   variables.  Each variable appears in a product with probability
+    *   one half, complemented half the time.
+    */
+    public static String randomExpression( int numVars, int numTerms,
+                                                              long seed )
+    {
+      Random random = new Random( seed );
+      StringBuffer sb = new StringBuffer();
+      for (int t=0; t<numTerms; t++)
+      {
+        if ( t > 0 )
+          sb.append( " + " );
+        int start = sb.length();
+        for (int v=0; v<numVars; v++)
+        {
+          if ( random.nextBoolean() )
+          {
+            sb.append( (char)('a' + v) );
+            if ( random.nextBoolean() )
+              sb.append( '\'' );
+          }
+        }
+        if ( sb.length() == start )
+          sb.append( (char)('a' + random.nextInt( numVars )) );
+      }
+      return new String( sb );
+    }
+
+  //  Method variableNames()
+  //  ----------------------------------------------------------------
+    public static char[] variableNames( int numVars )
+    {
+      char[] names = new char[ numVars ];
+      for (int i=0; i<numVars; i++)
+        names[i] = (char)('a' + i);
+      return names;
+    }
+
+  //  Method table()
+  //  ----------------------------------------------------------------
+  /**
+    *   Returns the truth table of a function over exactly numVars
+    *   variables, even if the high ones never appear in a minterm.
+    */
+    public static TruthTable table( int[] minterms, int numVars )
+    {
+      return new TruthTable( MintermSet.create( minterms, 1 << numVars ),
+                                              variableNames( numVars ) );
+    }
+
+  }
@@ -0,0 +1,450 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Locale;
+import java.util.Vector;
+
+//  Class MacroBench
+//  ------------------------------------------------------------------
+/**
+  *   Minimizes whole functions with MinimizedTable and records, for
+  *   each one, the wall time, the peak heap, the number of prime
+  *   implicants, and the size of the cover.  The functions are the
+  *   lines of corpus files (expressions or minterm lists, as for
+  *   MinimizeBatch) and generated families (see FunctionGenerator) at
+  *   increasing numbers of variables.  A family stops growing once a
+  *   run takes longer than the time limit, which shows where the
+  *   tabular method falls off.
+  *
+  *   Results can be written as CSV and as JSON.  Given a baseline, a
+  *   CSV file from an earlier run, each case is compared with it, and
+  *   the run fails (exit status 2) if any case is slower than the
+  *   baseline by more than the threshold, or has a bigger cover.  A
+  *   case that cannot be minimized, such as a corpus line that is not
+  *   a valid expression, is reported as a # line and skipped; the run
+  *   goes on, and exits with status 1 if there was no regression.
+  *
+  *     javac -d classes *.java bench/*.java
+  *     java -cp classes MacroBench [options] [corpus file ...]
+  *
+  *       -f family   Add a family: random, parity, majority, adder,
+  *                   or comparator.  Can be repeated.
+  *       -n from to  Numbers of variables for families (4 to 16).
+  *       -w warmup   Untimed runs per case before the timed ones (1).
+  *       -r repeat   Runs per case; the median time is kept (1).
+  *       -l seconds  Time limit that stops a family growing (10).
+  *       -x | -e     Exact cover or Espresso instead of greedy.
+  *       -csv file   Write the results as CSV.
+  *       -json file  Write the results as JSON.
+  *       -b file     Compare with a baseline CSV file.
+  *       -t percent  Allowed slowdown against the baseline (25).
+  *
+  *   @version  1.0
+  */
+  public class MacroBench
+  {
+    /** Time differences smaller than this are never regressions.  */
+    public static final double  NOISE_MS  = 5.0;
+
+    protected MinimizeOptions options   = new MinimizeOptions();
+    protected int             warmup    = 1;
+    protected int             repeat    = 1;
+    protected double          limit     = 10.0;
+    protected Vector<Result>  results   = new Vector<Result>();
+    protected int             numErrors = 0;
+
+
+  //  Class Result
+  //  ----------------------------------------------------------------
+  /**
+    *   The measurements for one case.
+    */
+    protected static class Result
+    {
+      String  name;
+      int     numVars;
+      int     numMinterms;
+      double  millis;
+      double  peakHeapMB;
+      int     numPrimes;
+      int     numTerms;
+      int     numLiterals;
+
+      String toCSV()
+      {
+        return name + "," + numVars + "," + numMinterms + "," +
+                String.format( Locale.ROOT, "%.3f,%.1f", millis,
+                                                  peakHeapMB ) + "," +
+                numPrimes + "," + numTerms + "," + numLiterals;
+      }
+
+      String toJSON()
+      {
+        return "{\"case\": \"" + name.replace( "\\", "\\\\" )
+                                     .replace( "\"", "\\\"" ) +
+                "\", \"vars\": " + numVars +
+                ", \"minterms\": " + numMinterms +
+                String.format( Locale.ROOT,
+                                ", \"ms\": %.3f, \"peak_heap_mb\": %.1f",
+                                                  millis, peakHeapMB ) +
+                ", \"primes\": " + numPrimes + ", \"terms\": " + numTerms +
+                ", \"literals\": " + numLiterals + "}";
+      }
+    }
+
+    public static final String CSV_HEADER =
+      "case,vars,minterms,ms,peak_heap_mb,primes,terms,literals";
+
+
+  //  Method measure()
+  //  ----------------------------------------------------------------
+  /**
+    *   Minimizes a table warmup times, then repeat times more, and
+    *   records the median time and the largest peak heap of the
+    *   second lot.
+    *
+    *   @param  table   Makes the MinimizedTable for one run.
+    */
+    protected Result measure( String name, TableMaker table )
+    {
+      for (int i=0; i<warmup; i++)
+        table.make( options );
+      Result result = new Result();
+      result.name = name;
+      double[] times = new double[ repeat ];
+      for (int i=0; i<repeat; i++)
+      {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+          if ( pool.getType() == MemoryType.HEAP )
+            pool.resetPeakUsage();
+        long start = System.nanoTime();
+        MinimizedTable m = table.make( options );
+        times[i] = (System.nanoTime() - start) / 1e6;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+          if ( pool.getType() == MemoryType.HEAP )
+            peak += pool.getPeakUsage().getUsed();
+        result.peakHeapMB = Math.max( result.peakHeapMB, peak / 1048576.0 );
+        result.numVars      = m.getNumVars();
+        result.numMinterms  = m.getNumMinterms();
+        result.numPrimes    = m.getRowCount();
+        result.numTerms     = m.minimum.size();
+        result.numLiterals  = 0;
+        for (int t=0; t<m.minimum.size(); t++)
+          result.numLiterals += m.minimum.elementAt( t ).getNumLiterals();
+      }
+      Arrays.sort( times );
+      result.millis = times[ repeat / 2 ];
+      results.add( result );
+      System.out.println( result.toCSV() );
+      return result;
+    }
+
+    interface TableMaker { MinimizedTable make( MinimizeOptions options ); }
+
+
+  //  Method tryMeasure()
+  //  ----------------------------------------------------------------
+  /**
+    *   Measures a case, or, if it cannot be minimized, prints it as a
+    *   # line with the first line of the error and returns null.
+    */
+    protected Result tryMeasure( String name, TableMaker table )
+    {
+      try
+      {
+        return measure( name, table );
+      }
+      catch ( RuntimeException e )
+      {
+        numErrors++;
+        System.out.println( "# " + name + ": " +
+                                  MinimizeBatch.errorLine( e.getMessage() ) );
+        return null;
+      }
+    }
+
+
+  //  Method runCorpus()
+  //  ----------------------------------------------------------------
+  /**
+    *   Runs each function in a corpus file.  Cases are named by file
+    *   and line number.
+    */
+    protected void runCorpus( String fileName ) throws IOException
+    {
+      BufferedReader in = new BufferedReader( new FileReader( fileName ) );
+      String line;
+      int lineNumber = 0;
+      while ( (line = in.readLine()) != null )
+      {
+        lineNumber++;
+        final String function = line.trim();
+        if ( function.length() == 0 || function.startsWith( "#" ) )
+          continue;
+        tryMeasure( fileName + ":" + lineNumber,
+                      o -> MinimizeBatch.minimize( function, o ) );
+      }
+      in.close();
+    }
+
+
+  //  Method runFamily()
+  //  ----------------------------------------------------------------
+  /**
+    *   Runs a generated family from from to to variables, stopping
+    *   after the first run that takes longer than the time limit.
+    */
+    protected void runFamily( String family, int from, int to )
+    {
+      for (int n=from; n<=to; n++)
+      {
+        int[] minterms;
+        int   half = n / 2;
+        if ( family.equals( "random" ) )
+          minterms = FunctionGenerator.random( n, 0.5, n );
+        else if ( family.equals( "parity" ) )
+          minterms = FunctionGenerator.parity( n );
+        else if ( family.equals( "majority" ) )
+          minterms = FunctionGenerator.majority( n );
+        else if ( family.equals( "adder" ) || family.equals( "comparator" ) )
+        {
+          if ( n % 2 != 0 )
+            continue;
+          minterms = family.equals( "adder" ) ?
+                      FunctionGenerator.adder( half, half ) :
+                      FunctionGenerator.comparator( half );
+        }
+        else
+          throw new RuntimeException( "Unknown family: " + family );
+        MintermSet set = MintermSet.create( minterms, 1 << n );
+        char[] names = FunctionGenerator.variableNames( n );
+        Result result = tryMeasure( family + "-" + n,
+                              o -> new MinimizedTable( set, names, o ) );
+        if ( result != null && result.millis > 1000 * limit )
+        {
+          System.out.println( "# " + family + " stopped at " + n +
+                                                          " variables" );
+          break;
+        }
+      }
+    }
+
+
+  //  Method compare()
+  //  ----------------------------------------------------------------
+  /**
+    *   Compares the results with a baseline CSV file and prints each
+    *   regression.
+    *
+    *   @return The number of regressions.
+    */
+    protected int compare( String fileName, double threshold )
+                                                      throws IOException
+    {
+      Hashtable<String, String[]> baseline =
+                                      new Hashtable<String, String[]>();
+      BufferedReader in = new BufferedReader( new FileReader( fileName ) );
+      String line;
+      while ( (line = in.readLine()) != null )
+      {
+        if ( line.startsWith( "case," ) || line.startsWith( "#" ) )
+          continue;
+        //  The case name may contain commas; the fields after it can't.
+        String[] fields = line.split( "," );
+        int n = fields.length;
+        if ( n < 8 )
+          continue;
+        String name = line.substring( 0, line.length() -
+              String.join( ",", Arrays.copyOfRange( fields, n - 7, n ) )
+                                                      .length() - 1 );
+        baseline.put( name, Arrays.copyOfRange( fields, n - 7, n ) );
+      }
+      in.close();
+
+      int numRegressions = 0;
+      for (int i=0; i<results.size(); i++)
+      {
+        Result r = results.elementAt( i );
+        String[] base = baseline.get( r.name );
+        if ( base == null )
+          continue;
+        double baseMillis = Double.parseDouble( base[2] );
+        int    baseTerms  = Integer.parseInt( base[5] );
+        if ( r.millis > baseMillis * (1 + threshold / 100) &&
+             r.millis - baseMillis > NOISE_MS )
+        {
+          numRegressions++;
+          System.out.printf( Locale.ROOT,
+                              "REGRESSION %s: %.3f ms, baseline %.3f ms%n",
+                                        r.name, r.millis, baseMillis );
+        }
+        if ( r.numTerms > baseTerms )
+        {
+          numRegressions++;
+          System.out.println( "REGRESSION " + r.name + ": " + r.numTerms +
+                              " terms, baseline " + baseTerms );
+        }
+      }
+      return numRegressions;
+    }
+
+
+  //  Method write()
+  //  ----------------------------------------------------------------
+    protected void writeCSV( String fileName ) throws IOException
+    {
+      PrintWriter out = new PrintWriter( new FileWriter( fileName ) );
+      out.println( CSV_HEADER );
+      for (int i=0; i<results.size(); i++)
+        out.println( results.elementAt( i ).toCSV() );
+      out.close();
+    }
+
+    protected void writeJSON( String fileName ) throws IOException
+    {
+      PrintWriter out = new PrintWriter( new FileWriter( fileName ) );
+      out.println( "[" );
+      for (int i=0; i<results.size(); i++)
+        out.println( "  " + results.elementAt( i ).toJSON() +
+                                    (i < results.size() - 1 ? "," : "") );
+      out.println( "]" );
+      out.close();
+    }
+
+
+  //  Method main()
+  //  ----------------------------------------------------------------
+    public static void main( String[] args )
+    {
+      MacroBench bench = new MacroBench();
+      Vector<String> families = new Vector<String>();
+      Vector<String> corpus   = new Vector<String>();
+      int     from = 4, to = 16;
+      String  csv = null, json = null, baseline = null;
+      double  threshold = 25;
+      try
+      {
+        for (int i=0; i<args.length; i++)
+        {
+          if ( args[i].equals( "-f" ) )
+            families.add( args[++i] );
+          else if ( args[i].equals( "-n" ) )
+          {
+            from  = Integer.parseInt( args[++i] );
+            to    = Integer.parseInt( args[++i] );
+          }
+          else if ( args[i].equals( "-w" ) )
+            bench.warmup = Integer.parseInt( args[++i] );
+          else if ( args[i].equals( "-r" ) )
+            bench.repeat = Integer.parseInt( args[++i] );
+          else if ( args[i].equals( "-l" ) )
+            bench.limit = Double.parseDouble( args[++i] );
+          else if ( args[i].equals( "-x" ) )
+            bench.options.setCoverMethod( MinimizedTable.EXACT_COVER );
+          else if ( args[i].equals( "-e" ) )
+            bench.options.setCoverMethod( MinimizedTable.ESPRESSO );
+          else if ( args[i].equals( "-csv" ) )
+            csv = args[++i];
+          else if ( args[i].equals( "-json" ) )
+            json = args[++i];
+          else if ( args[i].equals( "-b" ) )
+            baseline = args[++i];
+          else if ( args[i].equals( "-t" ) )
+            threshold = Double.parseDouble( args[++i] );
+          else if ( args[i].startsWith( "-" ) )
+            throw new RuntimeException( "Unknown option: " + args[i] );
+          else
+            corpus.add( args[i] );
+        }
+        if ( bench.warmup < 0 || bench.repeat < 1 || from < 1 ||
+             to > TruthTable.MAX_DENSE_VARS )
+          throw new RuntimeException( "Invalid -w, -r, or -n value." );
+        if ( families.isEmpty() && corpus.isEmpty() )
+          families.add( "random" );
+      }
+      catch ( RuntimeException e )
+      {
+        System.err.println( "Error: " + e.getMessage() );
+        System.err.println( "Usage: java MacroBench [-f family] " +
+                "[-n from to] [-w warmup] [-r repeat] [-l seconds] [-x|-e] " +
+                "[-csv file] [-json file] [-b baseline] [-t percent] " +
+                "[corpus file ...]" );
+        System.exit( 1 );
+      }
+
+      int status = 0;
+      try
+      {
+        System.out.println( CSV_HEADER );
+        for (int i=0; i<corpus.size(); i++)
+          bench.runCorpus( corpus.elementAt( i ) );
+        for (int i=0; i<families.size(); i++)
+          bench.runFamily( families.elementAt( i ), from, to );
+        if ( csv != null )
+          bench.writeCSV( csv );
+        if ( json != null )
+          bench.writeJSON( json );
+        if ( bench.numErrors > 0 )
+          status = 1;
+        if ( baseline != null &&
+             bench.compare( baseline, threshold ) > 0 )
+          status = 2;
+      }
+      catch ( IOException e )
+      {
+        System.err.println( "Error: " + e.getMessage() );
+        status = 1;
+      }
+      System.exit( status );
+    }
+
+  }
@@ -0,0 +1,285 @@
+//$Id$
+/*
+ *  Copyright (c) 2000-2005, Queens College of the City University
+ *  of New York.  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or
+ *  without modification, are permitted provided that the
+ *  following conditions are met:
+ *
+ *      * Redistributions of source code must retain the above
+ *        copyright notice, this list of conditions and the
+ *        following disclaimer.
+ * 
+ *      * Redistributions in binary form must reproduce the
+ *        above copyright notice, this list of conditions and
+ *        the following disclaimer in the documentation and/or
+ *        other materials provided with the distribution.  
+ * 
+ *      * Neither the name of Queens College of CUNY
+ *        nor the names of its contributors may be used to
+ *        endorse or promote products derived from this
+ *        software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND
+ *  CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ *  OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *  INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ *  GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR
+ *  BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *  OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *  POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.Vector;
+
+//  Class MicroBench
+//  ------------------------------------------------------------------
+/**
+  *   Times the phases of minimization, one at a time, on generated
+  *   functions (see FunctionGenerator), and reports operations per
+  *   second and bytes allocated per operation.
+  *
+  *   Each benchmark is run for the given time to warm up the JIT, then
+  *   for the same time again while it is measured.  Allocation is read
+  *   from the JVM's per-thread counter of allocated bytes, so the
+  *   benchmarks run in the calling thread and nothing else should be
+  *   running.
+  *
+  *   To build and run, from the top of the tree:
+  *
+  *     javac -d classes *.java bench/*.java
+  *     java -cp classes MicroBench [-t seconds] [-n vars] [-d density]
+  *                                 [-s seed] [filter]
+  *
+  *   Only benchmarks whose names contain filter are run.
+  *
+  *   @version  1.0
+  */
+  public class MicroBench
+  {
+    /** Keeps the JIT from discarding results.                      */
+    static volatile long sink;
+
+    interface Op { long run(); }
+
+    protected double seconds  = 1.0;
+    protected String filter   = "";
+    protected com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+
+  //  Method measure()
+  //  ----------------------------------------------------------------
+  /**
+    *   Warms up and times one benchmark, and prints a line for it.
+    */
+    protected void measure( String name, String function, Op op )
+    {
+      if ( name.indexOf( filter ) < 0 )
+        return;
+      long budget = (long)(seconds * 1e9);
+      long end = System.nanoTime() + budget;
+      while ( System.nanoTime() < end )
+        sink ^= op.run();
+
+      long numOps = 0;
+      long bytes  = threads.getCurrentThreadAllocatedBytes();
+      long start  = System.nanoTime();
+      end = start + budget;
+      long now;
+      do
+      {
+        sink ^= op.run();
+        numOps++;
+      } while ( (now = System.nanoTime()) < end );
+      bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+      double elapsed = (now - start) / 1e9;
+      System.out.printf( "%-20s %-16s %14.1f %12.3f %14d%n", name,
+                  function, numOps / elapsed, elapsed * 1e6 / numOps,
+                  bytes / numOps );
+    }
+
+
+  //  Method run()
+  //  ----------------------------------------------------------------
+    protected void run( int numVars, double density, long seed )
+    {
+      System.out.printf( "%-20s %-16s %14s %12s %14s%n", "Benchmark",
+                          "Function", "ops/s", "us/op", "bytes/op" );
+
+      //  Reducing pairs of terms: one op is 4096 pairs, half of which
+      //  reduce.
+      Random random = new Random( seed );
+      int fullMask = (1 << numVars) - 1;
+      char[] names = FunctionGenerator.variableNames( numVars );
+      ProductTerm[] terms1 = new ProductTerm[ 4096 ];
+      ProductTerm[] terms2 = new ProductTerm[ 4096 ];
+      for (int i=0; i<terms1.length; i++)
+      {
+        int mask  = random.nextInt( fullMask + 1 ) | 1;
+        int value = random.nextInt( fullMask + 1 ) & mask;
+        int other = (i % 2 == 0) ? value ^ 1 :
+                        random.nextInt( fullMask + 1 ) & mask;
+        terms1[i] = new ProductTerm( value, mask, names );
+        terms2[i] = new ProductTerm( other, mask, names );
+      }
+      measure( "reduces.ProductTerm", "4096 pairs", () ->
+        {
+          long n = 0;
+          for (int i=0; i<terms1.length; i++)
+            if ( terms1[i].reduces( terms2[i] ) != null )
+              n++;
+          return n;
+        } );
+      //  The same test on bare values and masks, as
+      //  PrimeImplicantFinder does it.
+      measure( "reduces.bits", "4096 pairs", () ->
+        {
+          long n = 0;
+          for (int i=0; i<terms1.length; i++)
+          {
+            long mask = terms1[i].getMask();
+            if ( mask == terms2[i].getMask() &&
+                 BitManipulation.countBits( (terms1[i].getValue() ^
+                                      terms2[i].getValue()) & mask ) == 1 )
+              n++;
+          }
+          return n;
+        } );
+
+      //  Evaluating an expression for every row.
+      String exp = FunctionGenerator.randomExpression( numVars,
+                                                    2 * numVars, seed );
+      String label = 2 * numVars + " products";
+      TruthTable expTable = new TruthTable( exp );
+      measure( "evaluate.boolean", label, () ->
+        {
+          long n = 0;
+          for (int r=0; r<expTable.numRows; r++)
+            if ( expTable.evaluateBoolean( r, expTable.variableNames,
+                                            expTable.normalized ) )
+              n++;
+          return n;
+        } );
+      CompiledExpression compiled = new CompiledExpression(
+                          expTable.normalized, expTable.variableNames );
+      measure( "evaluate.compiled", label, () ->
+        {
+          long n = 0;
+          for (int r=0; r<expTable.numRows; r++)
+            if ( compiled.evaluate( r ) )
+              n++;
+          return n;
+        } );
+      measure( "evaluate.words", label,
+                            () -> compiled.evaluateWords().length );
+      measure( "table.expression", label,
+                            () -> new TruthTable( exp ).getNumMinterms() );
+
+      //  The phases of minimization, on each kind of function.
+      int half = numVars / 2;
+      phases( "random " + density, FunctionGenerator.table(
+                  FunctionGenerator.random( numVars, density, seed ),
+                  numVars ) );
+      phases( "parity", FunctionGenerator.table(
+                  FunctionGenerator.parity( numVars ), numVars ) );
+      phases( "majority", FunctionGenerator.table(
+                  FunctionGenerator.majority( numVars ), numVars ) );
+      phases( "adder carry", FunctionGenerator.table(
+                  FunctionGenerator.adder( half, half ), 2 * half ) );
+      phases( "comparator", FunctionGenerator.table(
+                  FunctionGenerator.comparator( half ), 2 * half ) );
+    }
+
+
+  //  Method phases()
+  //  ----------------------------------------------------------------
+  /**
+    *   Times finding prime implicants, finding dominated ones, and the
+    *   whole minimization with each cover method, for one function.
+    */
+    protected void phases( String function, TruthTable table )
+    {
+      char[] names = table.getVars();
+      ProductTerm[] minterms = table.getMinterms();
+      MintermSet mintermSet = table.getMintermSet();
+      measure( "primes", function, () -> new PrimeImplicantFinder(
+              names, null ).findPrimeImplicants( minterms ).size() );
+
+      Vector<ProductTerm> primes = new PrimeImplicantFinder( names,
+                                  null ).findPrimeImplicants( minterms );
+      //  Only the search for dominated rows is timed; it does not
+      //  change the chart, so one chart serves for every op.
+      CoverChart chart = new CoverChart( primes.size(), minterms.length );
+      for (int p=0; p<primes.size(); p++)
+      {
+        long[] rows = new PrimeImplicant( primes.elementAt( p ),
+                                              table ).getCoverRows();
+        for (int i=0; i<rows.length; i++)
+          chart.set( p, mintermSet.indexOf( rows[i] ) );
+      }
+      measure( "dominance", function,
+                        () -> chart.findDominatedRows( null ).length );
+
+      int[] methods = { MinimizedTable.GREEDY_COVER,
+                        MinimizedTable.EXACT_COVER,
+                        MinimizedTable.ESPRESSO };
+      String[] methodNames = { "minimize.greedy", "minimize.exact",
+                                                  "minimize.espresso" };
+      for (int i=0; i<methods.length; i++)
+      {
+        MinimizeOptions options = new MinimizeOptions( null, methods[i],
+                                                                null );
+        measure( methodNames[i], function, () -> new MinimizedTable(
+                        mintermSet, names, options ).minimum.size() );
+      }
+    }
+
+
+  //  Method main()
+  //  ----------------------------------------------------------------
+    public static void main( String[] args )
+    {
+      MicroBench bench = new MicroBench();
+      int     numVars = 8;
+      double  density = 0.5;
+      long    seed    = 1;
+      try
+      {
+        for (int i=0; i<args.length; i++)
+        {
+          if ( args[i].equals( "-t" ) )
+            bench.seconds = Double.parseDouble( args[++i] );
+          else if ( args[i].equals( "-n" ) )
+            numVars = Integer.parseInt( args[++i] );
+          else if ( args[i].equals( "-d" ) )
+            density = Double.parseDouble( args[++i] );
+          else if ( args[i].equals( "-s" ) )
+            seed = Long.parseLong( args[++i] );
+          else
+            bench.filter = args[i];
+        }
+        if ( numVars < 2 || numVars > 20 )
+          throw new RuntimeException( "Use 2 to 20 variables." );
+      }
+      catch ( RuntimeException e )
+      {
+        System.err.println( "Error: " + e.getMessage() );
+        System.err.println( "Usage: java MicroBench [-t seconds] " +
+                            "[-n vars] [-d density] [-s seed] [filter]" );
+        System.exit( 1 );
+      }
+      bench.run( numVars, density, seed );
+    }
+
+  }